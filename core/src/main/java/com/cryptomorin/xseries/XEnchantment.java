@@ -208,7 +208,7 @@ public final class XEnchantment extends XModule<XEnchantment, Enchantment> {
                             EnchantmentWrapper wrapper = (EnchantmentWrapper) enchant;
                             XEnchantment mainMapping = REGISTRY.bukkitMapping().get(wrapper.getEnchantment());
                             Objects.requireNonNull(mainMapping, () -> "No main mapping found for Enchantment." + field.getName() + " (" + wrapper + ')');
-                            REGISTRY.bukkitMapping().put(wrapper, mainMapping);
+                            REGISTRY.registerBukkit(wrapper, mainMapping);
                         }
                     } catch (IllegalAccessException e) {
                         throw new IllegalStateException("Cannot get direct enchantment field for " + field, e);
@@ -263,7 +263,7 @@ public final class XEnchantment extends XModule<XEnchantment, Enchantment> {
             Enchantment enchantment = std.get();
             if (enchantment instanceof EnchantmentWrapper) {
                 Enchantment wrapped = ((EnchantmentWrapper) enchantment).getEnchantment();
-                REGISTRY.bukkitMapping().put(wrapped, std);
+                REGISTRY.registerBukkit(wrapped, std);
             }
         }
         return std;
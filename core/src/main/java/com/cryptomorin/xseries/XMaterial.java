@@ -21,12 +21,11 @@
  */
 package com.cryptomorin.xseries;
 
+import com.cryptomorin.xseries.base.NormalizedNameTable;
 import com.cryptomorin.xseries.base.XBase;
 import com.cryptomorin.xseries.base.annotations.XChange;
 import com.cryptomorin.xseries.base.annotations.XInfo;
 import com.google.common.base.Enums;
-import com.google.common.cache.Cache;
-import com.google.common.cache.CacheBuilder;
 import org.bukkit.Bukkit;
 import org.bukkit.Material;
 import org.bukkit.entity.EntityType;
@@ -39,7 +38,8 @@ import org.jetbrains.annotations.Nullable;
 
 import java.lang.reflect.Field;
 import java.util.*;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
@@ -1768,20 +1768,26 @@ public enum XMaterial implements XBase<XMaterial, Material> {
 
     /**
      * We don't want to use {@link Enums#getIfPresent(Class, String)} to avoid a few checks.
+     * This also allows {@link #matchXMaterial(String)} to look up unformatted names without
+     * allocating new strings using the same rules as {@link #format(String)}.
      *
      * @since 5.1.0
      */
-    private static final Map<String, XMaterial> NAMES = new HashMap<>();
+    private static final NormalizedNameTable<XMaterial> NAMES =
+            new NormalizedNameTable<>(NormalizedNameTable.Normalizer.ENUM, VALUES.length);
 
     /**
-     * Guava (Google Core Libraries for Java)'s cache for performance and timed caches.
-     * For strings that match a certain XMaterial. Mostly cached for configs.
+     * An index of all the legacy names that are used by XMaterials, mapped to the materials that
+     * use them. Each array is indexed by {@code data + 1} where index {@code 0} ({@link #UNKNOWN_DATA_VALUE})
+     * holds the first material that uses this name regardless of its data value.
+     * <p>
+     * This is built once during class initialization so legacy lookups don't
+     * need to scan {@link #VALUES} or allocate cache keys.
      *
-     * @since 1.0.0
+     * @see #requestOldXMaterial(String, byte)
+     * @since 13.3.0
      */
-    private static final Cache<String, XMaterial> NAME_CACHE = CacheBuilder.newBuilder()
-            .expireAfterAccess(1, TimeUnit.HOURS)
-            .build();
+    private static final Map<String, XMaterial[]> LEGACY_NAMES = new HashMap<>(400);
     /**
      * The maximum data value in the pre-flattening update which belongs to {@link #VILLAGER_SPAWN_EGG}<br>
      * <a href="https://minecraftitemids.com/types/spawn-egg">Spawn Eggs</a>
@@ -1817,7 +1823,25 @@ public enum XMaterial implements XBase<XMaterial, Material> {
     private static final Set<String> DUPLICATED;
 
     static {
-        for (XMaterial material : VALUES) NAMES.put(material.name(), material);
+        for (XMaterial material : VALUES) NAMES.putNormalized(material.name(), material);
+
+        for (XMaterial material : VALUES) {
+            int index = material.data + 1;
+            for (String legacy : material.legacy) {
+                XMaterial[] byData = LEGACY_NAMES.get(legacy);
+                if (byData == null) {
+                    byData = new XMaterial[index + 1];
+                    LEGACY_NAMES.put(legacy, byData);
+                } else if (byData.length <= index) {
+                    byData = Arrays.copyOf(byData, index + 1);
+                    LEGACY_NAMES.put(legacy, byData);
+                }
+
+                // The first material in the enum order always wins, just like a linear search would.
+                if (byData[0] == null) byData[0] = material;
+                if (byData[index] == null) byData[index] = material;
+            }
+        }
     }
 
     static {
@@ -1887,7 +1911,7 @@ public enum XMaterial implements XBase<XMaterial, Material> {
      */
     @NotNull
     private static Optional<XMaterial> getIfPresent(@NotNull String name) {
-        return Optional.ofNullable(NAMES.get(name));
+        return NAMES.lookupNormalized(name);
     }
 
     /**
@@ -1903,26 +1927,19 @@ public enum XMaterial implements XBase<XMaterial, Material> {
 
     /**
      * When using 1.13+, this helps to find the old material name
-     * with its data value using a cached search for optimization.
+     * with its data value using a precomputed index.
      *
      * @see #matchDefinedXMaterial(String, byte)
      * @since 1.0.0
      */
     @Nullable
     private static XMaterial requestOldXMaterial(@NotNull String name, byte data) {
-        String holder = name + data;
-        XMaterial cache = NAME_CACHE.getIfPresent(holder);
-        if (cache != null) return cache;
-
-        for (XMaterial material : VALUES) {
-            // Not using material.name().equals(name) check is intended.
-            if ((data == UNKNOWN_DATA_VALUE || data == material.data) && material.anyMatchLegacy(name)) {
-                NAME_CACHE.put(holder, material);
-                return material;
-            }
-        }
+        XMaterial[] byData = LEGACY_NAMES.get(name);
+        if (byData == null) return null;
 
-        return null;
+        // Not using material.name().equals(name) check is intended.
+        int index = data + 1;
+        return index >= 0 && index < byData.length ? byData[index] : null;
     }
 
     /**
@@ -1973,7 +1990,14 @@ public enum XMaterial implements XBase<XMaterial, Material> {
         if (name == null)
             throw new IllegalArgumentException("Cannot match a material with null string");
         Optional<XMaterial> oldMatch = matchXMaterialWithData(name);
-        return oldMatch != null ? oldMatch : matchDefinedXMaterial(format(name), UNKNOWN_DATA_VALUE);
+        if (oldMatch != null) return oldMatch;
+
+        if (Data.ISFLAT) {
+            // Most names are modern names that can be found without formatting them first.
+            Optional<XMaterial> xMaterial = NAMES.lookup(name);
+            if (xMaterial.isPresent()) return xMaterial;
+        }
+        return matchDefinedXMaterial(format(name), UNKNOWN_DATA_VALUE);
     }
 
     /**
@@ -1987,8 +2011,75 @@ public enum XMaterial implements XBase<XMaterial, Material> {
     @NotNull
     public static XMaterial matchXMaterial(@NotNull Material material) {
         Objects.requireNonNull(material, "Cannot match null material");
-        return matchDefinedXMaterial(material.name(), UNKNOWN_DATA_VALUE)
-                .orElseThrow(() -> new IllegalArgumentException("Unsupported material with no data value: " + material.name()));
+        XMaterial xMaterial = BukkitMaterials.get(material);
+        if (xMaterial != null) return xMaterial;
+        throw new IllegalArgumentException("Unsupported material with no data value: " + material.name());
+    }
+
+    /**
+     * Parses all the given materials as XMaterials.
+     * Same as calling {@link #matchXMaterial(Material)} for each element, but
+     * unsupported materials don't throw an exception.
+     *
+     * @param materials the materials to match, may contain nulls.
+     * @param out       the array to put the results in at the same index, must be at least as long as {@code materials}.
+     *                  Null and unsupported materials will be null.
+     * @return the {@code out} array.
+     * @since 13.3.0
+     */
+    @NotNull
+    public static XMaterial[] matchAll(@NotNull Material[] materials, @NotNull XMaterial[] out) {
+        if (out.length < materials.length)
+            throw new IllegalArgumentException("Output array is smaller than the input: " + out.length + " < " + materials.length);
+
+        for (int i = 0; i < materials.length; i++) {
+            Material material = materials[i];
+            out[i] = material == null ? null : BukkitMaterials.get(material);
+        }
+        return out;
+    }
+
+    /**
+     * Parses all the given items as XMaterials.
+     * Same as calling {@link #matchXMaterial(ItemStack)} for each element, but
+     * unsupported materials don't throw an exception.
+     * <p>
+     * This is useful for scanning full inventories, e.g. {@code matchAll(inventory.getContents(), out)}
+     * The version checks are only done once, and on 1.14+ the items are directly mapped from their material.
+     *
+     * @param items the items to match, may contain nulls.
+     * @param out   the array to put the results in at the same index, must be at least as long as {@code items}.
+     *              Null items and unsupported materials will be null.
+     * @return the {@code out} array.
+     * @since 13.3.0
+     */
+    @NotNull
+    public static XMaterial[] matchAll(@NotNull ItemStack[] items, @NotNull XMaterial[] out) {
+        if (out.length < items.length)
+            throw new IllegalArgumentException("Output array is smaller than the input: " + out.length + " < " + items.length);
+
+        // On 1.14+ an item's material alone determines its XMaterial, see matchXMaterial(ItemStack)
+        if (supports(14)) {
+            for (int i = 0; i < items.length; i++) {
+                ItemStack item = items[i];
+                out[i] = item == null ? null : BukkitMaterials.get(item.getType());
+            }
+        } else {
+            for (int i = 0; i < items.length; i++) {
+                ItemStack item = items[i];
+                if (item == null) {
+                    out[i] = null;
+                    continue;
+                }
+
+                try {
+                    out[i] = matchXMaterial(item);
+                } catch (IllegalArgumentException ex) {
+                    out[i] = null;
+                }
+            }
+        }
+        return out;
     }
 
     /**
@@ -2128,32 +2219,7 @@ public enum XMaterial implements XBase<XMaterial, Material> {
      */
     @NotNull
     protected static String format(@NotNull String name) {
-        int len = name.length();
-        char[] chs = new char[len];
-        int count = 0;
-        boolean appendUnderline = false;
-
-        for (int i = 0; i < len; i++) {
-            char ch = name.charAt(i);
-
-            if (!appendUnderline && count != 0 && (ch == '-' || ch == ' ' || ch == '_') && chs[count] != '_')
-                appendUnderline = true;
-            else {
-                boolean number = false;
-                // Old materials have numbers in them.
-                if ((ch >= 'A' && ch <= 'Z') || (ch >= 'a' && ch <= 'z') || (number = (ch >= '0' && ch <= '9'))) {
-                    if (appendUnderline) {
-                        chs[count++] = '_';
-                        appendUnderline = false;
-                    }
-
-                    if (number) chs[count++] = ch;
-                    else chs[count++] = (char) (ch & 0x5f);
-                }
-            }
-        }
-
-        return new String(chs, 0, count);
+        return NormalizedNameTable.Normalizer.ENUM.normalize(name);
     }
 
     /**
@@ -2199,21 +2265,6 @@ public enum XMaterial implements XBase<XMaterial, Material> {
         return item;
     }
 
-    /**
-     * Checks if the given material name matches any of this xmaterial's legacy material names.
-     * All the values passed to this method will not be null or empty and are formatted correctly.
-     *
-     * @param name the material name to check.
-     * @return true if it's one of the legacy names, otherwise false.
-     * @since 2.0.0
-     */
-    private boolean anyMatchLegacy(@NotNull String name) {
-        for (int i = this.legacy.length - 1; i >= 0; i--) {
-            if (name.equals(this.legacy[i])) return true;
-        }
-        return false;
-    }
-
     /**
      * Parses an enum name to a user-friendly name.
      * These names will have underlines removed and with each word capitalized.
@@ -2275,16 +2326,37 @@ public enum XMaterial implements XBase<XMaterial, Material> {
     /**
      * Parses an item from this XMaterial.
      * Uses data values on older versions.
+     * <p>
+     * The item is only built once per XMaterial, every call returns a new copy of it
+     * that can be freely modified.
      *
      * @return an ItemStack with the same material (and data value if in older versions.)
      * @see #setType(ItemStack)
      * @since 2.0.0
      */
     @Nullable
-    @SuppressWarnings("deprecation")
     public ItemStack parseItem() {
-        Material material = this.get();
-        if (material == null) return null;
+        if (this.material == null) return null;
+        return ItemPrototypes.get(this).clone();
+    }
+
+    /**
+     * The number of {@link #parseItem()} calls that were served from the cached items, and the number
+     * of times an item had to be built. Mostly for debugging and metrics.
+     *
+     * @return {@code [hits, misses]}
+     * @since 13.3.0
+     */
+    @NotNull
+    @ApiStatus.Experimental
+    public static long[] getParseItemStats() {
+        return new long[]{ItemPrototypes.HITS.sum(), ItemPrototypes.MISSES.sum()};
+    }
+
+    @NotNull
+    @SuppressWarnings("deprecation")
+    private ItemStack buildItem() {
+        Material material = this.material;
         ItemStack base = Data.ISFLAT ? new ItemStack(material) : new ItemStack(material, 1, this.data);
         // Splash Potions weren't an official material pre-flattening.
         if (!Data.ISFLAT && this == SPLASH_POTION) {
@@ -2402,6 +2474,61 @@ public enum XMaterial implements XBase<XMaterial, Material> {
         }
     }
 
+    /**
+     * The items built by {@link #parseItem()}, indexed by {@link #ordinal()}.
+     * These are never given out directly, only their clones.
+     *
+     * @since 13.3.0
+     */
+    private static final class ItemPrototypes {
+        private static final AtomicReferenceArray<ItemStack> ITEMS = new AtomicReferenceArray<>(VALUES.length);
+        private static final LongAdder HITS = new LongAdder(), MISSES = new LongAdder();
+
+        @NotNull
+        private static ItemStack get(XMaterial material) {
+            int ordinal = material.ordinal();
+            ItemStack item = ITEMS.get(ordinal);
+            if (item != null) {
+                HITS.increment();
+                return item;
+            }
+
+            MISSES.increment();
+            item = material.buildItem();
+            // Another thread might have built it first, that's fine since they're equal.
+            return ITEMS.compareAndSet(ordinal, null, item) ? item : ITEMS.get(ordinal);
+        }
+    }
+
+    /**
+     * A {@link Material#ordinal()} to {@link XMaterial} table for {@link #matchXMaterial(Material)}
+     * This is separate from {@link Data} since it needs all the XMaterials to be initialized.
+     *
+     * @since 13.3.0
+     */
+    private static final class BukkitMaterials {
+        /**
+         * Null for materials that are not supported, such as {@code LEGACY_} materials in 1.13+
+         */
+        private static final XMaterial[] BY_ORDINAL;
+
+        static {
+            Material[] materials = Material.values();
+            BY_ORDINAL = new XMaterial[materials.length];
+            for (Material material : materials) {
+                BY_ORDINAL[material.ordinal()] = matchDefinedXMaterial(material.name(), UNKNOWN_DATA_VALUE).orElse(null);
+            }
+        }
+
+        @Nullable
+        private static XMaterial get(@NotNull Material material) {
+            int ordinal = material.ordinal();
+            // Materials can't be added at runtime, but just in case.
+            if (ordinal < BY_ORDINAL.length) return BY_ORDINAL[ordinal];
+            return matchDefinedXMaterial(material.name(), UNKNOWN_DATA_VALUE).orElse(null);
+        }
+    }
+
     /**
      * Used for data that need to be accessed during enum initialization.
      *
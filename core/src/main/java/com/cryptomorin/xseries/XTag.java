@@ -29,6 +29,7 @@ import org.jetbrains.annotations.Nullable;
 
 import java.lang.reflect.Field;
 import java.util.*;
+import java.util.function.Supplier;
 import java.util.regex.Pattern;
 
 /**
@@ -1171,38 +1172,38 @@ public final class XTag<T extends XBase<?, ?>> {
     }
 
     static { // colorable
-        CANDLE_CAKES = TagBuilder.simple(findAllColors("CANDLE_CAKE"));
-        CANDLES = TagBuilder.simple(findAllColors("CANDLE"));
-        TERRACOTTA = TagBuilder.simple(findAllColors("TERRACOTTA"));
-        GLAZED_TERRACOTTA = TagBuilder.simple(findAllColors("GLAZED_TERRACOTTA"));
-        SHULKER_BOXES = TagBuilder.simple(findAllColors("SHULKER_BOX"));
-        CARPETS = TagBuilder.simple(findAllColors("CARPET"));
-        WOOL = TagBuilder.simple(findAllColors("WOOL"));
-        GLASS = TagBuilder.of(findAllColors("GLASS"))
+        CANDLE_CAKES = TagBuilder.lazy(() -> TagBuilder.simple(findAllColors("CANDLE_CAKE")));
+        CANDLES = TagBuilder.lazy(() -> TagBuilder.simple(findAllColors("CANDLE")));
+        TERRACOTTA = TagBuilder.lazy(() -> TagBuilder.simple(findAllColors("TERRACOTTA")));
+        GLAZED_TERRACOTTA = TagBuilder.lazy(() -> TagBuilder.simple(findAllColors("GLAZED_TERRACOTTA")));
+        SHULKER_BOXES = TagBuilder.lazy(() -> TagBuilder.simple(findAllColors("SHULKER_BOX")));
+        CARPETS = TagBuilder.lazy(() -> TagBuilder.simple(findAllColors("CARPET")));
+        WOOL = TagBuilder.lazy(() -> TagBuilder.simple(findAllColors("WOOL")));
+        GLASS = TagBuilder.lazy(() -> TagBuilder.of(findAllColors("GLASS"))
                 .inheritFrom(TagBuilder.simple(XMaterial.TINTED_GLASS))
-                .build();
-        ITEMS_BANNERS = TagBuilder.simple(findAllColors("BANNER"));
-        WALL_BANNERS = TagBuilder.simple(findAllColors("WALL_BANNER"));
+                .build());
+        ITEMS_BANNERS = TagBuilder.lazy(() -> TagBuilder.simple(findAllColors("BANNER")));
+        WALL_BANNERS = TagBuilder.lazy(() -> TagBuilder.simple(findAllColors("WALL_BANNER")));
         BANNERS = TagBuilder.simple(ITEMS_BANNERS, WALL_BANNERS);
-        BEDS = TagBuilder.simple(findAllColors("BED"));
-        CONCRETE = TagBuilder.simple(findAllColors("CONCRETE"));
-        CONCRETE_POWDER = TagBuilder.simple(findAllColors("CONCRETE_POWDER"));
+        BEDS = TagBuilder.lazy(() -> TagBuilder.simple(findAllColors("BED")));
+        CONCRETE = TagBuilder.lazy(() -> TagBuilder.simple(findAllColors("CONCRETE")));
+        CONCRETE_POWDER = TagBuilder.lazy(() -> TagBuilder.simple(findAllColors("CONCRETE_POWDER")));
     }
 
     static { // wooded material
-        STANDING_SIGNS = TagBuilder.simple(findAllWoodTypes("SIGN"));
-        WALL_SIGNS = TagBuilder.simple(findAllWoodTypes("WALL_SIGN"));
-        WALL_HANGING_SIGNS = TagBuilder.simple(findAllWoodTypes("WALL_HANGING_SIGN"));
-        HANGING_SIGNS = TagBuilder.simple(findAllWoodTypes("HANGING_SIGN"));
-        WOODEN_PRESSURE_PLATES = TagBuilder.simple(findAllWoodTypes("PRESSURE_PLATE"));
-        WOODEN_DOORS = TagBuilder.simple(findAllWoodTypes("DOOR"));
-        WOODEN_FENCE_GATES = TagBuilder.simple(findAllWoodTypes("FENCE_GATE"));
-        WOODEN_FENCES = TagBuilder.simple(findAllWoodTypes("FENCE"));
-        WOODEN_SLABS = TagBuilder.simple(findAllWoodTypes("SLAB"));
-        WOODEN_STAIRS = TagBuilder.simple(findAllWoodTypes("STAIRS"));
-        WOODEN_TRAPDOORS = TagBuilder.simple(findAllWoodTypes("TRAPDOOR"));
-        PLANKS = TagBuilder.simple(findAllWoodTypes("PLANKS"));
-        WOODEN_BUTTONS = TagBuilder.simple(findAllWoodTypes("BUTTON"));
+        STANDING_SIGNS = TagBuilder.lazy(() -> TagBuilder.simple(findAllWoodTypes("SIGN")));
+        WALL_SIGNS = TagBuilder.lazy(() -> TagBuilder.simple(findAllWoodTypes("WALL_SIGN")));
+        WALL_HANGING_SIGNS = TagBuilder.lazy(() -> TagBuilder.simple(findAllWoodTypes("WALL_HANGING_SIGN")));
+        HANGING_SIGNS = TagBuilder.lazy(() -> TagBuilder.simple(findAllWoodTypes("HANGING_SIGN")));
+        WOODEN_PRESSURE_PLATES = TagBuilder.lazy(() -> TagBuilder.simple(findAllWoodTypes("PRESSURE_PLATE")));
+        WOODEN_DOORS = TagBuilder.lazy(() -> TagBuilder.simple(findAllWoodTypes("DOOR")));
+        WOODEN_FENCE_GATES = TagBuilder.lazy(() -> TagBuilder.simple(findAllWoodTypes("FENCE_GATE")));
+        WOODEN_FENCES = TagBuilder.lazy(() -> TagBuilder.simple(findAllWoodTypes("FENCE")));
+        WOODEN_SLABS = TagBuilder.lazy(() -> TagBuilder.simple(findAllWoodTypes("SLAB")));
+        WOODEN_STAIRS = TagBuilder.lazy(() -> TagBuilder.simple(findAllWoodTypes("STAIRS")));
+        WOODEN_TRAPDOORS = TagBuilder.lazy(() -> TagBuilder.simple(findAllWoodTypes("TRAPDOOR")));
+        PLANKS = TagBuilder.lazy(() -> TagBuilder.simple(findAllWoodTypes("PLANKS")));
+        WOODEN_BUTTONS = TagBuilder.lazy(() -> TagBuilder.simple(findAllWoodTypes("BUTTON")));
     }
 
     static { // ores
@@ -1222,14 +1223,14 @@ public final class XTag<T extends XBase<?, ?>> {
     }
 
     static { // corals
-        ALIVE_CORAL_WALL_FANS = TagBuilder.simple(findAllCorals(true, false, true, true));
-        ALIVE_CORAL_FANS = TagBuilder.simple(findAllCorals(true, false, true, false));
-        ALIVE_CORAL_BLOCKS = TagBuilder.simple(findAllCorals(true, true, false, false));
-        ALIVE_CORAL_PLANTS = TagBuilder.simple(findAllCorals(true, false, false, false));
-        DEAD_CORAL_WALL_FANS = TagBuilder.simple(findAllCorals(false, false, true, true));
-        DEAD_CORAL_FANS = TagBuilder.simple(findAllCorals(false, false, true, false));
-        DEAD_CORAL_BLOCKS = TagBuilder.simple(findAllCorals(false, true, false, false));
-        DEAD_CORAL_PLANTS = TagBuilder.simple(findAllCorals(false, false, false, false));
+        ALIVE_CORAL_WALL_FANS = TagBuilder.lazy(() -> TagBuilder.simple(findAllCorals(true, false, true, true)));
+        ALIVE_CORAL_FANS = TagBuilder.lazy(() -> TagBuilder.simple(findAllCorals(true, false, true, false)));
+        ALIVE_CORAL_BLOCKS = TagBuilder.lazy(() -> TagBuilder.simple(findAllCorals(true, true, false, false)));
+        ALIVE_CORAL_PLANTS = TagBuilder.lazy(() -> TagBuilder.simple(findAllCorals(true, false, false, false)));
+        DEAD_CORAL_WALL_FANS = TagBuilder.lazy(() -> TagBuilder.simple(findAllCorals(false, false, true, true)));
+        DEAD_CORAL_FANS = TagBuilder.lazy(() -> TagBuilder.simple(findAllCorals(false, false, true, false)));
+        DEAD_CORAL_BLOCKS = TagBuilder.lazy(() -> TagBuilder.simple(findAllCorals(false, true, false, false)));
+        DEAD_CORAL_PLANTS = TagBuilder.lazy(() -> TagBuilder.simple(findAllCorals(false, false, false, false)));
         CORAL_FANS = TagBuilder.simple(ALIVE_CORAL_FANS, ALIVE_CORAL_WALL_FANS, DEAD_CORAL_WALL_FANS, DEAD_CORAL_FANS);
 
         CORALS = TagBuilder.simple(
@@ -1252,7 +1253,7 @@ public final class XTag<T extends XBase<?, ?>> {
 
     static {
         WALL_HEADS = TagBuilder.simple(
-                TagBuilder.simple(findMaterialsEndingWith("WALL_HEAD")),
+                TagBuilder.lazy(() -> TagBuilder.simple(findMaterialsEndingWith("WALL_HEAD"))),
                 TagBuilder.simple(XMaterial.WITHER_SKELETON_WALL_SKULL, XMaterial.SKELETON_WALL_SKULL)
         );
 
@@ -2484,11 +2485,163 @@ public final class XTag<T extends XBase<?, ?>> {
                 ).build();
     }
 
+    /**
+     * Each set bit is the {@link XBase#ordinal()} of a tagged value.
+     * Trailing empty words are trimmed.
+     */
+    private final long[] bits;
+    /**
+     * All the tagged values sorted by their ordinal. Only used for {@link #getValues()}.
+     */
+    private final XBase<?, ?>[] members;
+    /**
+     * The class of the tagged values, or null if this tag is empty.
+     * Ordinals are only unique among values of the same class.
+     */
+    @Nullable
+    private final Class<?> type;
+    /**
+     * Only set for lazy tags, in which case the fields above are empty and
+     * the contents are read from {@link #resolved()} instead.
+     */
+    @Nullable
+    private final LazyTag<T> lazy;
     @NotNull
     private final Set<T> values;
 
-    private XTag(@NotNull Set<T> values) {
-        this.values = values;
+    private XTag(@NotNull long[] bits, @NotNull XBase<?, ?>[] members, @Nullable Class<?> type) {
+        this.bits = bits;
+        this.members = members;
+        this.type = type;
+        this.lazy = null;
+        this.values = new TagSet();
+    }
+
+    private XTag(@NotNull Supplier<XTag<T>> builder) {
+        this.bits = new long[0];
+        this.members = new XBase[0];
+        this.type = null;
+        this.lazy = new LazyTag<>(builder);
+        this.values = new TagSet();
+    }
+
+    private boolean isInitialized() {
+        return lazy == null || lazy.isInitialized();
+    }
+
+    /**
+     * @return the tag that holds the contents of this tag, which is this tag itself unless it's lazy.
+     */
+    private XTag<T> resolved() {
+        return lazy == null ? this : lazy.get();
+    }
+
+    /**
+     * Holds the state of lazy tags separately, so the contents of all tags can stay final.
+     * The built tag only has final fields and is published through a volatile field.
+     */
+    private static final class LazyTag<T extends XBase<?, ?>> {
+        private Supplier<XTag<T>> builder;
+        private volatile XTag<T> tag;
+
+        private LazyTag(Supplier<XTag<T>> builder) {
+            this.builder = builder;
+        }
+
+        private boolean isInitialized() {
+            return tag != null;
+        }
+
+        private XTag<T> get() {
+            XTag<T> built = tag;
+            if (built != null) return built;
+
+            synchronized (this) {
+                built = tag;
+                if (built == null) {
+                    built = builder.get().resolved();
+                    tag = built;
+                    builder = null;
+                }
+                return built;
+            }
+        }
+    }
+
+    /**
+     * Creates a tag from the given bits.
+     *
+     * @param candidates an array that contains at least all the values of the set bits sorted by their ordinal.
+     *                   It may contain nulls and values that are not in the bits.
+     */
+    private static <T extends XBase<?, ?>> XTag<T> create(long[] bits, XBase<?, ?>[] candidates, Class<?> type) {
+        int words = bits.length;
+        while (words > 0 && bits[words - 1] == 0) words--;
+        if (words != bits.length) bits = Arrays.copyOf(bits, words);
+
+        int count = 0;
+        for (long word : bits) count += Long.bitCount(word);
+
+        XBase<?, ?>[] members = new XBase[count];
+        int index = 0;
+        for (XBase<?, ?> candidate : candidates) {
+            if (candidate != null && isSet(bits, candidate.ordinal())) members[index++] = candidate;
+        }
+
+        return new XTag<>(bits, members, count == 0 ? null : type);
+    }
+
+    private static boolean isSet(long[] bits, int ordinal) {
+        int word = ordinal >>> 6;
+        return word < bits.length && (bits[word] & (1L << ordinal)) != 0;
+    }
+
+    /**
+     * {@code target |= other}, the target must be at least as long as the other one.
+     */
+    private static void union(long[] target, long[] other) {
+        for (int i = 0; i < other.length; i++) target[i] |= other[i];
+    }
+
+    /**
+     * {@code target &= ~other}
+     */
+    private static void difference(long[] target, long[] other) {
+        for (int i = 0, len = Math.min(target.length, other.length); i < len; i++) target[i] &= ~other[i];
+    }
+
+    private static Class<?> typeOf(Object value) {
+        return value instanceof Enum ? ((Enum<?>) value).getDeclaringClass() : value.getClass();
+    }
+
+    /**
+     * Same as {@link #isTagged(XBase)}, but also works for objects of other types.
+     */
+    @SuppressWarnings("unchecked")
+    private boolean isTaggedObject(@Nullable Object value) {
+        return value instanceof XBase && typeOf(value) == resolved().type && isTagged((T) value);
+    }
+
+    /**
+     * A read-only view of the bits of this tag.
+     */
+    private final class TagSet extends AbstractSet<T> {
+        @SuppressWarnings("unchecked")
+        @Override
+        public Iterator<T> iterator() {
+            // Doesn't support remove()
+            return (Iterator<T>) Arrays.asList(resolved().members).iterator();
+        }
+
+        @Override
+        public int size() {
+            return resolved().members.length;
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return isTaggedObject(o);
+        }
     }
 
     public static <E> List<Matcher<E>> stringMatcher(@Nullable Collection<String> elements) {
@@ -2553,7 +2706,8 @@ public final class XTag<T extends XBase<?, ?>> {
                 comp = XMaterial.format(comp.substring(4));
                 Optional<XTag<?>> tag = getTag(comp);
                 if (tag.isPresent()) matchers.add(new Matcher.XTagMatcher(tag.get()));
-                else errors.add(new Matcher.Error("Cannot find tag: " + comp, "TAG"));
+                else if (errors != null) errors.add(new Matcher.Error("Cannot find tag: " + comp, "TAG"));
+                continue;
             }
 
             matchers.add(new Matcher.TextMatcher<>(comp, false));
@@ -2567,7 +2721,47 @@ public final class XTag<T extends XBase<?, ?>> {
     }
 
     public static <T> boolean anyMatch(T target, Collection<Matcher<T>> matchers) {
-        return matchers.stream().anyMatch(x -> x.matches(target));
+        for (Matcher<T> matcher : matchers) {
+            if (matcher.matches(target)) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Evaluates all the given matchers once against every value of a known domain,
+     * so checking a value of that domain is a single bit test no matter how many rules there are.
+     * Objects that are not part of the domain are still checked against the original matchers.
+     * <p>
+     * This is useful for large lists that are checked often, such as a list of disabled items checked on every event:
+     * <blockquote><pre>
+     *     List&lt;Matcher&lt;XMaterial&gt;&gt; matchers = XTag.stringMatcher(config.getStringList("disabled-items"), null);
+     *     matchers = XTag.compile(matchers, Arrays.asList(XMaterial.VALUES));
+     *     boolean disabled = XTag.anyMatch(material, matchers);
+     * </pre></blockquote>
+     * The matchers must not depend on any mutable state, otherwise the compiled result will be outdated.
+     *
+     * @param matchers the matchers to compile, usually from {@link #stringMatcher(Collection, Collection)}
+     * @param domain   all the values of a single {@link XBase} type that will be checked, e.g. {@link XMaterial#VALUES}
+     * @return a list with a single compiled matcher, or the same matchers if there's nothing to compile.
+     * @throws IllegalArgumentException if the domain contains values of different types.
+     * @since 13.3.0
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public static <E> List<Matcher<E>> compile(@NotNull Collection<Matcher<E>> matchers,
+                                               @NotNull Collection<? extends XBase<?, ?>> domain) {
+        if (matchers.isEmpty() || domain.isEmpty()) return new ArrayList<>(matchers);
+
+        Class<?> domainType = typeOf(domain.iterator().next());
+        TagBuilder builder = new TagBuilder<>();
+        for (XBase<?, ?> value : domain) {
+            if (typeOf(value) != domainType)
+                throw new IllegalArgumentException("Domain contains values of different types: " + domainType + " and " + value.getClass());
+            if (anyMatch((E) value, matchers)) builder.add(value);
+        }
+
+        List<Matcher<E>> compiled = new ArrayList<>(1);
+        compiled.add(new Matcher.CompiledMatcher<>(domainType, builder.build(), new ArrayList<>(matchers)));
+        return compiled;
     }
 
     public abstract static class Matcher<T> {
@@ -2626,7 +2820,30 @@ public final class XTag<T extends XBase<?, ?>> {
 
             @Override
             public boolean matches(T object) {
-                return matcher.isTagged(object);
+                // The target might not be the same type as the tag.
+                return matcher.isTaggedObject(object);
+            }
+        }
+
+        /**
+         * @see #compile(Collection, Collection)
+         */
+        public static final class CompiledMatcher<T> extends Matcher<T> {
+            private final Class<?> domain;
+            private final XTag<?> matched;
+            private final List<Matcher<T>> fallback;
+
+            private CompiledMatcher(Class<?> domain, XTag<?> matched, List<Matcher<T>> fallback) {
+                this.domain = domain;
+                this.matched = matched;
+                this.fallback = fallback;
+            }
+
+            @SuppressWarnings({"unchecked", "rawtypes"})
+            @Override
+            public boolean matches(T object) {
+                if (object instanceof XBase && typeOf(object) == domain) return ((XTag) matched).isTagged((XBase) object);
+                return anyMatch(object, fallback);
             }
         }
     }
@@ -2653,12 +2870,20 @@ public final class XTag<T extends XBase<?, ?>> {
     }
 
     private static XMaterial[] findMaterialsEndingWith(String material) {
-        return Arrays.stream(XMaterial.VALUES).filter(x -> x.name().endsWith(material)).toArray(XMaterial[]::new);
+        List<XMaterial> list = new ArrayList<>();
+        for (XMaterial value : XMaterial.VALUES) {
+            if (value.name().endsWith(material)) list.add(value);
+        }
+        return list.toArray(new XMaterial[0]);
     }
 
     @SuppressWarnings("unused")
     private static XMaterial[] findMaterialsStartingWith(String material) {
-        return Arrays.stream(XMaterial.VALUES).filter(x -> x.name().startsWith(material)).toArray(XMaterial[]::new);
+        List<XMaterial> list = new ArrayList<>();
+        for (XMaterial value : XMaterial.VALUES) {
+            if (value.name().startsWith(material)) list.add(value);
+        }
+        return list.toArray(new XMaterial[0]);
     }
 
     private static XMaterial[] findAllCorals(boolean alive, boolean block, boolean fan, boolean wall) {
@@ -2965,29 +3190,43 @@ public final class XTag<T extends XBase<?, ?>> {
     }
 
     public boolean isTagged(@Nullable T value) {
-        return value != null && this.values.contains(value);
+        if (value == null) return false;
+        long[] bits = resolved().bits;
+        int ordinal = value.ordinal();
+        int word = ordinal >>> 6;
+        return word < bits.length && (bits[word] & (1L << ordinal)) != 0;
     }
 
     private static final class TagBuilder<T extends XBase<?, ?>> {
-        private final Set<T> values;
+        private long[] bits = new long[0];
+        /**
+         * The values indexed by their ordinal, used to find the members of the tag.
+         */
+        private XBase<?, ?>[] byOrdinal = new XBase[0];
+        private Class<?> type;
+        /**
+         * Inherited tags are only merged when the tag is built, so lazy tags can be inherited without initializing them.
+         */
+        private final List<XTag<T>> inherited = new ArrayList<>();
 
         private TagBuilder(Collection<T> values) {
-            if (values.isEmpty()) {
-                this.values = Collections.newSetFromMap(new IdentityHashMap<>());
-            } else if (values.iterator().next() instanceof Enum) {
-                // this.values = EnumSet.copyOf((Collection<Enum>) values);
-
-                Iterator<T> iter = values.iterator();
-                T first = iter.next();
-
-                // noinspection unchecked,rawtypes
-                this.values = EnumSet.of((Enum) first);
-                while (iter.hasNext())
-                    this.values.add(iter.next());
-            } else {
-                this.values = Collections.newSetFromMap(new IdentityHashMap<>(values.size()));
-                this.values.addAll(values);
-            }
+            for (T value : values) add(value);
+        }
+
+        private TagBuilder() {}
+
+        private void ensureCapacity(int ordinal) {
+            if (ordinal >= byOrdinal.length) byOrdinal = Arrays.copyOf(byOrdinal, ordinal + 1);
+            int words = (ordinal >>> 6) + 1;
+            if (words > bits.length) bits = Arrays.copyOf(bits, words);
+        }
+
+        private void add(T value) {
+            int ordinal = value.ordinal();
+            ensureCapacity(ordinal);
+            bits[ordinal >>> 6] |= 1L << ordinal;
+            byOrdinal[ordinal] = value;
+            if (type == null) type = typeOf(value);
         }
 
         @SafeVarargs
@@ -2997,9 +3236,15 @@ public final class XTag<T extends XBase<?, ?>> {
 
         @SafeVarargs
         private static <T extends XBase<?, ?>> XTag<T> simple(XTag<T>... values) {
-            return new TagBuilder<>(Collections.singletonList(values[0].values.iterator().next()))
-                    .inheritFrom(values)
-                    .build();
+            return new TagBuilder<T>().inheritFrom(values).build();
+        }
+
+        /**
+         * Creates a tag that's only built the first time it's used.
+         * Used for tags that have to search for their values by name.
+         */
+        private static <T extends XBase<?, ?>> XTag<T> lazy(Supplier<XTag<T>> builder) {
+            return new XTag<>(builder);
         }
 
         @SafeVarargs
@@ -3009,38 +3254,81 @@ public final class XTag<T extends XBase<?, ?>> {
 
         @SafeVarargs
         private final TagBuilder<T> inheritFrom(@NotNull XTag<T>... values) {
-            for (XTag<T> value : values) {
-                this.values.addAll(value.values);
-            }
+            inherited.addAll(Arrays.asList(values));
             return this;
         }
 
+        /**
+         * If any of the inherited tags are lazy and not initialized yet, this tag will be lazy too.
+         */
         private XTag<T> build() {
-            return new XTag<>(Collections.unmodifiableSet(values));
+            for (XTag<T> value : inherited) {
+                if (!value.isInitialized()) return lazy(this::compute);
+            }
+            return compute();
+        }
+
+        private XTag<T> compute() {
+            for (XTag<T> tag : inherited) {
+                XTag<T> value = tag.resolved();
+                int count = value.members.length;
+                if (count == 0) continue;
+
+                // Members are sorted, so the last one has the highest ordinal.
+                ensureCapacity(value.members[count - 1].ordinal());
+                union(this.bits, value.bits);
+                for (XBase<?, ?> member : value.members) byOrdinal[member.ordinal()] = member;
+                if (type == null) type = value.type;
+            }
+            return create(bits, byOrdinal, type);
         }
     }
 
     @SafeVarargs
     private final XTag<T> without(T... without) {
-        Set<T> newSet = new HashSet<>(this.values);
-        for (T value : without) newSet.remove(value);
-        return new XTag<>(newSet);
-    }
+        if (!isInitialized()) return TagBuilder.lazy(() -> without(without));
+        XTag<T> tag = resolved();
+        long[] bits = tag.bits;
+
+        long[] removed = new long[bits.length];
+        for (T value : without) {
+            int ordinal = value.ordinal();
+            int word = ordinal >>> 6;
+            if (word < removed.length) removed[word] |= 1L << ordinal;
+        }
 
-    private static final Map<String, XTag<?>> TAGS = new HashMap<>(30);
+        long[] newBits = bits.clone();
+        difference(newBits, removed);
+        return create(newBits, tag.members, tag.type);
+    }
 
+    /**
+     * Gets a tag by the name of its field, e.g. {@code "INVENTORY_NOT_DISPLAYABLE"}
+     * <p>
+     * The name index is only built the first time this method is called,
+     * so plugins that only use the fields directly don't pay for the reflection.
+     *
+     * @param name the exact name of the tag's field.
+     */
     public static Optional<XTag<?>> getTag(String name) {
-        return Optional.ofNullable(TAGS.get(name));
+        return Optional.ofNullable(TagNames.TAGS.get(name));
     }
 
-    static {
-        for (Field field : XTag.class.getDeclaredFields()) {
-            try {
-                if (field.getType() == XTag.class) {
-                    TAGS.put(field.getName(), (XTag<?>) field.get(null));
+    /**
+     * Initialization-on-demand holder for {@link #getTag(String)}
+     */
+    private static final class TagNames {
+        private static final Map<String, XTag<?>> TAGS = new HashMap<>(256);
+
+        static {
+            for (Field field : XTag.class.getDeclaredFields()) {
+                try {
+                    if (field.getType() == XTag.class) {
+                        TAGS.put(field.getName(), (XTag<?>) field.get(null));
+                    }
+                } catch (IllegalAccessException ex) {
+                    new IllegalStateException("Failed to get XTag " + field, ex).printStackTrace();
                 }
-            } catch (IllegalAccessException ex) {
-                new IllegalStateException("Failed to get XTag " + field, ex).printStackTrace();
             }
         }
     }
@@ -0,0 +1,386 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025 Crypto Morin
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+ * PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE
+ * FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.cryptomorin.xseries.base;
+
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * A name to value hash table that normalizes the names while they're being looked up.
+ * <p>
+ * Normal {@link java.util.HashMap} lookups require the key to be normalized into a new string
+ * first (lowercasing, removing namespaces, replacing separators, etc.) which is wasteful for
+ * methods that are called thousands of times per second. Instead, this table stores the normalized
+ * keys and the hash and comparison of the given name are done character-by-character using the
+ * same rules of the {@link Normalizer}, so lookups don't allocate any new objects.
+ * The returned {@link Optional} objects are also cached for each entry.
+ * <p>
+ * This class is not thread-safe.
+ *
+ * @param <V> the type of the values.
+ * @since 13.3.0
+ */
+@ApiStatus.Internal
+public final class NormalizedNameTable<V> {
+    private final Normalizer normalizer;
+    private String[] keys;
+    private int[] hashes;
+    private Optional<V>[] values;
+    private int size;
+
+    public NormalizedNameTable(@NotNull Normalizer normalizer, int expectedSize) {
+        this.normalizer = Objects.requireNonNull(normalizer, "Normalizer cannot be null");
+        allocate(capacityFor(expectedSize));
+    }
+
+    private NormalizedNameTable(NormalizedNameTable<V> other) {
+        this.normalizer = other.normalizer;
+        this.keys = other.keys.clone();
+        this.hashes = other.hashes.clone();
+        this.values = other.values.clone();
+        this.size = other.size;
+    }
+
+    /**
+     * Creates an independent copy of this table.
+     * The cached optionals are shared which is fine since they're immutable.
+     */
+    @NotNull
+    public NormalizedNameTable<V> copy() {
+        return new NormalizedNameTable<>(this);
+    }
+
+    /**
+     * The table is kept at most half full, so probing sequences stay short.
+     */
+    private static int capacityFor(int size) {
+        int capacity = 16;
+        while (capacity < size * 2) capacity <<= 1;
+        return capacity;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void allocate(int capacity) {
+        this.keys = new String[capacity];
+        this.hashes = new int[capacity];
+        this.values = (Optional<V>[]) new Optional[capacity];
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    public Normalizer getNormalizer() {
+        return normalizer;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Normalizes the given name and maps it to the given value.
+     * Replaces the previous value if the normalized name is already mapped.
+     */
+    public void put(@NotNull String name, @NotNull V value) {
+        putNormalized(normalizer.normalize(name), value);
+    }
+
+    /**
+     * Same as {@link #put(String, Object)} but the name is already normalized.
+     */
+    public void putNormalized(@NotNull String normalized, @NotNull V value) {
+        Objects.requireNonNull(value, "Cannot map a null value");
+        if ((size + 1) * 2 > keys.length) rehash(keys.length << 1);
+
+        int hash = normalized.hashCode();
+        int mask = keys.length - 1;
+        int index = spread(hash) & mask;
+
+        String key;
+        while ((key = keys[index]) != null) {
+            if (hashes[index] == hash && key.equals(normalized)) {
+                if (values[index].get() != value) values[index] = Optional.of(value);
+                return;
+            }
+            index = (index + 1) & mask;
+        }
+
+        keys[index] = normalized;
+        hashes[index] = hash;
+        values[index] = Optional.of(value);
+        size++;
+    }
+
+    private void rehash(int capacity) {
+        String[] oldKeys = this.keys;
+        int[] oldHashes = this.hashes;
+        Optional<V>[] oldValues = this.values;
+        allocate(capacity);
+
+        int mask = capacity - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] == null) continue;
+
+            int index = spread(oldHashes[i]) & mask;
+            while (keys[index] != null) index = (index + 1) & mask;
+            keys[index] = oldKeys[i];
+            hashes[index] = oldHashes[i];
+            values[index] = oldValues[i];
+        }
+    }
+
+    /**
+     * Looks up the given name as if it was normalized by the {@link #getNormalizer() normalizer} first.
+     *
+     * @param name the raw name, it doesn't need to be normalized.
+     * @return a cached optional, this method never allocates.
+     */
+    @NotNull
+    public Optional<V> lookup(@NotNull CharSequence name) {
+        int hash = normalizer.hash(name);
+        int mask = keys.length - 1;
+        int index = spread(hash) & mask;
+
+        String key;
+        while ((key = keys[index]) != null) {
+            if (hashes[index] == hash && normalizer.matches(key, name)) return values[index];
+            index = (index + 1) & mask;
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Looks up a name that is already normalized.
+     * This is slightly faster than {@link #lookup(CharSequence)}.
+     */
+    @NotNull
+    public Optional<V> lookupNormalized(@NotNull String normalized) {
+        int hash = normalized.hashCode();
+        int mask = keys.length - 1;
+        int index = spread(hash) & mask;
+
+        String key;
+        while ((key = keys[index]) != null) {
+            if (hashes[index] == hash && key.equals(normalized)) return values[index];
+            index = (index + 1) & mask;
+        }
+        return Optional.empty();
+    }
+
+    @Nullable
+    public V get(@NotNull CharSequence name) {
+        return lookup(name).orElse(null);
+    }
+
+    /**
+     * The rules used to normalize names.
+     * Each rule must produce the same hash as {@link String#hashCode()} of its normalized form
+     * and must compare names with the exact same rules that {@link #normalize(CharSequence)} uses.
+     */
+    public enum Normalizer {
+        /**
+         * Used for {@link XRegistry} names.
+         * The name is lowercased, the {@code minecraft:} namespace is removed and
+         * dots are replaced with underscores.
+         * <pre>{@code
+         *     minecraft:block.note_block.bell -> block_note_block_bell
+         *     AMBIENT_CAVE                    -> ambient_cave
+         * }</pre>
+         */
+        REGISTRY {
+            private static final String NAMESPACE = "minecraft:";
+
+            private int start(CharSequence name) {
+                int len = NAMESPACE.length();
+                if (name.length() < len) return 0;
+
+                for (int i = 0; i < len; i++) {
+                    if (fold(name.charAt(i)) != NAMESPACE.charAt(i)) return 0;
+                }
+                return len;
+            }
+
+            private char fold(char ch) {
+                if (ch >= 'A' && ch <= 'Z') return (char) (ch | 0x20);
+                if (ch == '.') return '_'; // This is very unlikely to cause a conflict.
+                if (ch < 0x80) return ch;
+                return Character.toLowerCase(ch);
+            }
+
+            @Override
+            public String normalize(CharSequence name) {
+                int start = start(name);
+                int len = name.length();
+                char[] chs = new char[len - start];
+
+                for (int i = start; i < len; i++) {
+                    chs[i - start] = fold(name.charAt(i));
+                }
+                return new String(chs);
+            }
+
+            @Override
+            public int hash(CharSequence name) {
+                int hash = 0;
+                for (int i = start(name), len = name.length(); i < len; i++) {
+                    hash = 31 * hash + fold(name.charAt(i));
+                }
+                return hash;
+            }
+
+            @Override
+            public boolean matches(String normalized, CharSequence name) {
+                int start = start(name);
+                int len = name.length();
+                if (len - start != normalized.length()) return false;
+
+                for (int i = start; i < len; i++) {
+                    if (normalized.charAt(i - start) != fold(name.charAt(i))) return false;
+                }
+                return true;
+            }
+        },
+
+        /**
+         * Used for enum-like names such as {@code XMaterial}.
+         * Removes all the spaces, and extra non-English characters, folds separators
+         * ({@code -}, {@code _} and spaces) into a single underscore and uppercases the letters.
+         * <pre>{@code
+         *     Acacia Boat -> ACACIA_BOAT
+         *     red--wool   -> RED_WOOL
+         * }</pre>
+         */
+        ENUM {
+            private boolean isSeparator(char ch) {
+                return ch == '-' || ch == ' ' || ch == '_';
+            }
+
+            /**
+             * @return the uppercase character or {@code 0} if the character should be removed.
+             */
+            private char fold(char ch) {
+                if ((ch >= 'A' && ch <= 'Z') || (ch >= 'a' && ch <= 'z')) return (char) (ch & 0x5f);
+                // Old materials have numbers in them.
+                if (ch >= '0' && ch <= '9') return ch;
+                return 0;
+            }
+
+            @Override
+            public String normalize(CharSequence name) {
+                int len = name.length();
+                char[] chs = new char[len];
+                int count = 0;
+                boolean appendUnderline = false;
+
+                for (int i = 0; i < len; i++) {
+                    char ch = name.charAt(i);
+
+                    if (!appendUnderline && count != 0 && isSeparator(ch)) appendUnderline = true;
+                    else {
+                        char folded = fold(ch);
+                        if (folded != 0) {
+                            if (appendUnderline) {
+                                chs[count++] = '_';
+                                appendUnderline = false;
+                            }
+                            chs[count++] = folded;
+                        }
+                    }
+                }
+
+                return new String(chs, 0, count);
+            }
+
+            @Override
+            public int hash(CharSequence name) {
+                int hash = 0;
+                boolean started = false;
+                boolean appendUnderline = false;
+
+                for (int i = 0, len = name.length(); i < len; i++) {
+                    char ch = name.charAt(i);
+
+                    if (!appendUnderline && started && isSeparator(ch)) appendUnderline = true;
+                    else {
+                        char folded = fold(ch);
+                        if (folded != 0) {
+                            if (appendUnderline) {
+                                hash = 31 * hash + '_';
+                                appendUnderline = false;
+                            }
+                            hash = 31 * hash + folded;
+                            started = true;
+                        }
+                    }
+                }
+
+                return hash;
+            }
+
+            @Override
+            public boolean matches(String normalized, CharSequence name) {
+                int count = 0;
+                int max = normalized.length();
+                boolean appendUnderline = false;
+
+                for (int i = 0, len = name.length(); i < len; i++) {
+                    char ch = name.charAt(i);
+
+                    if (!appendUnderline && count != 0 && isSeparator(ch)) appendUnderline = true;
+                    else {
+                        char folded = fold(ch);
+                        if (folded != 0) {
+                            if (appendUnderline) {
+                                if (count == max || normalized.charAt(count++) != '_') return false;
+                                appendUnderline = false;
+                            }
+                            if (count == max || normalized.charAt(count++) != folded) return false;
+                        }
+                    }
+                }
+
+                return count == max;
+            }
+        };
+
+        /**
+         * Normalizes the given name into a new string.
+         */
+        @NotNull
+        public abstract String normalize(@NotNull CharSequence name);
+
+        /**
+         * Computes the {@link String#hashCode()} of the normalized form of the given name without normalizing it.
+         */
+        public abstract int hash(@NotNull CharSequence name);
+
+        /**
+         * Checks if the given raw name is equal to the given normalized name after being normalized.
+         */
+        public abstract boolean matches(@NotNull String normalized, @NotNull CharSequence name);
+    }
+}
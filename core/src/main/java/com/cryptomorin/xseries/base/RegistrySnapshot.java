@@ -0,0 +1,167 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025 Crypto Morin
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+ * PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE
+ * FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.cryptomorin.xseries.base;
+
+import com.cryptomorin.xseries.reflection.XReflection;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+
+/**
+ * An on-disk cache of which name of an {@link XBase} resolved to a Bukkit form for a specific server.
+ * <p>
+ * Each {@link XBase} has a list of names from different versions, and {@link XRegistry} tries them one by one
+ * until one of them exists on the server. Misses are not cheap, especially for enums where each one throws an
+ * exception. The snapshot remembers the index of the name that worked last time, so the next startup only has to
+ * check that one name. If that name doesn't resolve anymore, the snapshot is stale and all the names are checked again.
+ * <p>
+ * The whole file is discarded if it was created by another server version or XSeries version.
+ *
+ * <h2>Format</h2>
+ * <pre>
+ * int MAGIC, int FORMAT, UTF key,
+ * int registries, {UTF registry, int entries, {UTF name, byte index}...}...
+ * </pre>
+ * An index of {@code -1} means that none of the names exist on the server.
+ *
+ * @see XRegistry#useSnapshot(Path)
+ * @since 13.3.0
+ */
+final class RegistrySnapshot {
+    private static final int MAGIC = 0x58535253; // XSRS
+    private static final int FORMAT = 1;
+
+    /**
+     * Means that none of the names could be resolved.
+     */
+    static final int UNRESOLVED = -1;
+
+    private static Path file;
+    private static Map<String, Map<String, Integer>> loaded = Collections.emptyMap();
+
+    private RegistrySnapshot() {}
+
+    static synchronized boolean isEnabled() {
+        return file != null;
+    }
+
+    /**
+     * Loads the snapshot from the given file if it exists and was created by the same server and XSeries version.
+     *
+     * @return true if a valid snapshot was loaded.
+     */
+    static synchronized boolean load(@NotNull Path file) {
+        RegistrySnapshot.file = Objects.requireNonNull(file, "Snapshot file cannot be null");
+        loaded = Collections.emptyMap();
+
+        String key = key();
+        if (key == null || !Files.isRegularFile(file)) return false;
+
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != MAGIC || in.readInt() != FORMAT || !key.equals(in.readUTF())) return false;
+
+            int registries = in.readInt();
+            Map<String, Map<String, Integer>> snapshot = new HashMap<>(registries);
+            for (int i = 0; i < registries; i++) {
+                String registry = in.readUTF();
+                int entries = in.readInt();
+
+                Map<String, Integer> hints = new HashMap<>(entries);
+                for (int j = 0; j < entries; j++) {
+                    hints.put(in.readUTF(), (int) in.readByte());
+                }
+                snapshot.put(registry, hints);
+            }
+
+            loaded = snapshot;
+            return true;
+        } catch (IOException | RuntimeException ex) {
+            // A corrupted file is the same as a stale one, it'll be overwritten on the next save.
+            new IllegalStateException("Failed to read XRegistry snapshot from " + file, ex).printStackTrace();
+            return false;
+        }
+    }
+
+    /**
+     * @return a copy of the loaded hints of the given registry, or an empty map if there's none.
+     */
+    @NotNull
+    static synchronized Map<String, Integer> hintsOf(String registry) {
+        Map<String, Integer> hints = loaded.get(registry);
+        return hints == null ? new HashMap<>() : new HashMap<>(hints);
+    }
+
+    /**
+     * Writes the given hints, plus the loaded hints of registries that weren't initialized in this session.
+     */
+    static synchronized void save(@NotNull Map<String, Map<String, Integer>> resolved) throws IOException {
+        if (file == null) throw new IllegalStateException("Snapshot file is not set");
+        String key = key();
+        if (key == null) throw new IllegalStateException("Cannot determine the server version");
+
+        Map<String, Map<String, Integer>> snapshot = new HashMap<>(loaded);
+        snapshot.putAll(resolved);
+
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) Files.createDirectories(parent);
+
+        // Write to a temporary file first, so a crash doesn't leave a half written snapshot behind.
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT);
+            out.writeUTF(key);
+
+            out.writeInt(snapshot.size());
+            for (Map.Entry<String, Map<String, Integer>> registry : snapshot.entrySet()) {
+                out.writeUTF(registry.getKey());
+                out.writeInt(registry.getValue().size());
+                for (Map.Entry<String, Integer> hint : registry.getValue().entrySet()) {
+                    out.writeUTF(hint.getKey());
+                    out.writeByte(hint.getValue());
+                }
+            }
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+
+        loaded = snapshot;
+    }
+
+    /**
+     * The snapshot is only valid for the exact server and XSeries version that created it.
+     */
+    @Nullable
+    private static String key() {
+        try {
+            return XReflection.XSERIES_VERSION + ' ' + XReflection.getVersionInformation();
+        } catch (Throwable ex) {
+            // No server, e.g. unit tests.
+            return null;
+        }
+    }
+}
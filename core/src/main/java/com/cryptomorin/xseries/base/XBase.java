@@ -76,6 +76,21 @@ public interface XBase<XForm extends XBase<XForm, BukkitForm>, BukkitForm> {
     @Contract(pure = true)
     String[] getNames();
 
+    /**
+     * A dense index of this value among all the values of the same type, starting from 0.
+     * Enums use their own {@link Enum#ordinal()} and other forms are assigned one by {@link XRegistry}.
+     * <p>
+     * This is not persistent between server restarts and should not be used for saving data.
+     * <p>
+     * Implementations outside XSeries don't need to override this, they're assigned
+     * an ordinal the first time this method is called.
+     */
+    @ApiStatus.Internal
+    @Contract(pure = true)
+    default int ordinal() {
+        return XRegistry.ordinalOf(this);
+    }
+
     /**
      * In most cases you should be using {@link #name()} instead.
      *
@@ -36,11 +36,13 @@ import java.util.Arrays;
 public abstract class XModule<XForm extends XModule<XForm, BukkitForm>, BukkitForm> implements XBase<XForm, BukkitForm> {
     private final BukkitForm bukkitForm;
     private final String[] names;
+    private final int ordinal;
 
     @ApiStatus.Internal
     protected XModule(BukkitForm bukkitForm, String[] names) {
         this.bukkitForm = bukkitForm;
         this.names = names;
+        this.ordinal = XRegistry.nextOrdinal(getClass());
         // this.names = new String[names.length + 1];
         // System.arraycopy(names, 0, names, 1, names.length);
     }
@@ -73,6 +75,12 @@ public abstract class XModule<XForm extends XModule<XForm, BukkitForm>, BukkitFo
         return names;
     }
 
+    @ApiStatus.Internal
+    @Override
+    public final int ordinal() {
+        return ordinal;
+    }
+
     @Nullable
     @Override
     public final BukkitForm get() {
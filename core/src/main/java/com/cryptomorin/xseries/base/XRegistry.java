@@ -26,6 +26,9 @@ import com.cryptomorin.xseries.base.annotations.XChange;
 import com.cryptomorin.xseries.base.annotations.XInfo;
 import com.cryptomorin.xseries.base.annotations.XMerge;
 import com.cryptomorin.xseries.particles.XParticle;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
 import org.bukkit.Keyed;
 import org.bukkit.NamespacedKey;
 import org.bukkit.Registry;
@@ -36,10 +39,14 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.jetbrains.annotations.Unmodifiable;
 
+import java.io.IOException;
 import java.lang.annotation.*;
 import java.lang.reflect.Field;
 import java.lang.reflect.Modifier;
+import java.nio.file.Path;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.BiConsumer;
 import java.util.function.BiFunction;
 import java.util.function.Function;
@@ -88,6 +95,14 @@ public final class XRegistry<XForm extends XBase<XForm, BukkitForm>, BukkitForm>
     }
 
     private static final Map<Class<? extends XBase<?, ?>>, XRegistry<?, ?>> REGISTRIES = new IdentityHashMap<>();
+    private static final Map<Class<?>, AtomicInteger> ORDINALS = new ConcurrentHashMap<>();
+    /**
+     * Weak keys, so forms that are created dynamically are not kept alive just because they have an ordinal.
+     * Weak keys are also compared by identity.
+     */
+    private static final LoadingCache<XBase<?, ?>, Integer> EXTERNAL_ORDINALS = CacheBuilder.newBuilder()
+            .weakKeys()
+            .build(CacheLoader.from(xForm -> nextOrdinal(xForm.getClass())));
     private static boolean ensureLoaded = false;
 
     /**
@@ -125,7 +140,9 @@ public final class XRegistry<XForm extends XBase<XForm, BukkitForm>, BukkitForm>
     @ApiStatus.Experimental
     public static XRegistry<?, ?> rawRegistryOf(Class<?> clazz) {
         ensureLoadedRegistries();
-        return REGISTRIES.get(clazz);
+        synchronized (REGISTRIES) {
+            return REGISTRIES.get(clazz);
+        }
     }
 
     /**
@@ -138,19 +155,87 @@ public final class XRegistry<XForm extends XBase<XForm, BukkitForm>, BukkitForm>
     @ApiStatus.Experimental
     public static <XForm extends XBase<XForm, BukkitForm>, BukkitForm> XRegistry<XForm, BukkitForm> registryOf(Class<? extends XForm> clazz) {
         ensureLoadedRegistries();
-        return (XRegistry<XForm, BukkitForm>) REGISTRIES.get(clazz);
+        synchronized (REGISTRIES) {
+            return (XRegistry<XForm, BukkitForm>) REGISTRIES.get(clazz);
+        }
+    }
+
+    /**
+     * Assigns the next {@link XBase#ordinal()} for non-enum forms.
+     * Every XForm class has its own dense sequence starting from 0.
+     */
+    static int nextOrdinal(Class<?> xFormClass) {
+        return ORDINALS.computeIfAbsent(xFormClass, k -> new AtomicInteger()).getAndIncrement();
+    }
+
+    /**
+     * Used by the default {@link XBase#ordinal()} for forms that are neither enums nor {@link XModule}s,
+     * so they're assigned an ordinal once, the first time it's requested.
+     */
+    static int ordinalOf(XBase<?, ?> xForm) {
+        if (xForm instanceof Enum) return ((Enum<?>) xForm).ordinal();
+        // Reading an ordinal that's already assigned doesn't lock.
+        return EXTERNAL_ORDINALS.getUnchecked(xForm);
     }
 
     protected static <XForm extends XBase<XForm, BukkitForm>, BukkitForm> void registerModule(XRegistry<XForm, BukkitForm> registry, Class<? extends XForm> clazz) {
-        REGISTRIES.put(clazz, registry);
+        synchronized (REGISTRIES) {
+            REGISTRIES.put(clazz, registry);
+        }
+    }
+
+    /**
+     * Enables the on-disk snapshot of resolved names. This must be called before any {@link XBase} class is used,
+     * e.g. in the {@code onLoad()} of the plugin, since registries only read the snapshot when they're created.
+     * <p>
+     * Each {@link XBase} has a list of names from different versions and the registry tries them one by one until
+     * one of them exists on the server. The snapshot remembers which name worked on this exact server version,
+     * so the next startup only has to check that name. Entries that are stale fall back to checking all the names.
+     * The snapshot file is ignored entirely if it was made by another server or XSeries version.
+     *
+     * @param file the file to read the snapshot from, and to write it to with {@link #saveSnapshot()}
+     * @return true if a valid snapshot was loaded from the file.
+     * @since 13.3.0
+     */
+    public static boolean useSnapshot(@NotNull Path file) {
+        return RegistrySnapshot.load(file);
+    }
+
+    /**
+     * Writes the names resolved by all the registries that were created after {@link #useSnapshot(Path)}.
+     * This is usually called once after the plugin is enabled.
+     *
+     * @throws IllegalStateException if {@link #useSnapshot(Path)} wasn't called.
+     * @since 13.3.0
+     */
+    public static void saveSnapshot() throws IOException {
+        Map<String, Map<String, Integer>> resolved = new HashMap<>();
+        synchronized (REGISTRIES) {
+            for (XRegistry<?, ?> registry : REGISTRIES.values()) {
+                if (registry.resolvedHints == null || registry.resolvedHints.isEmpty()) continue;
+                resolved.put(registry.xFormClass.getName(), new HashMap<>(registry.resolvedHints));
+            }
+        }
+        RegistrySnapshot.save(resolved);
     }
 
     /**
-     * All entries are lowercase.
-     * Entries that belong to "minecraft" namespace, are added without the namespace.
+     * The current mappings of this registry. Readers never lock, they only read this reference once.
+     * Writers are serialized by locking this registry and publish a modified copy of the snapshot
+     * by swapping this reference, so a published snapshot is never modified once the registry is {@link #sealed}.
+     */
+    private volatile Snapshot<XForm, BukkitForm> snapshot;
+    /**
+     * The modified snapshot of the current writer that is not published yet. Guarded by {@code this}.
      */
-    private final Map<String, XForm> nameMappings = new HashMap<>(20);
-    private final Map<BukkitForm, XForm> bukkitToX = new IdentityHashMap<>(20);
+    private Snapshot<XForm, BukkitForm> draft;
+    /**
+     * Before the registry is sealed (while the XForm class itself is being initialized, which is already
+     * guarded by the JVM) the snapshot is modified in-place, so we don't copy it for every single value.
+     *
+     * @see #discardMetadata()
+     */
+    private boolean sealed = false;
     private Map<XForm, XModuleMetadata> metadata;
     private Map<XForm, Field> backingFields;
 
@@ -164,7 +249,16 @@ public final class XRegistry<XForm extends XBase<XForm, BukkitForm>, BukkitForm>
 
     private final boolean supportsRegistry;
     private final ClassType bukkitClassType;
-    private boolean pulled = false;
+    private volatile boolean pulled = false;
+    /**
+     * The name indices loaded from the {@link RegistrySnapshot}, keyed by {@link #hintKey(String[])}
+     */
+    private final Map<String, Integer> snapshotHints;
+    /**
+     * The name indices resolved in this session, null if snapshots are not enabled.
+     */
+    private final Map<String, Integer> resolvedHints;
+    private boolean pulling = false;
     private boolean alreadyDiscardedMetadata = false;
 
     @ApiStatus.Internal
@@ -187,6 +281,14 @@ public final class XRegistry<XForm extends XBase<XForm, BukkitForm>, BukkitForm>
         this.createArray = Objects.requireNonNull(createArray);
         this.creator = creator;
 
+        if (RegistrySnapshot.isEnabled()) {
+            this.snapshotHints = RegistrySnapshot.hintsOf(xFormClass.getName());
+            this.resolvedHints = new ConcurrentHashMap<>(Math.max(16, snapshotHints.size()));
+        } else {
+            this.snapshotHints = Collections.emptyMap();
+            this.resolvedHints = null;
+        }
+
         // Just because the registry exists, doesn't necessarily mean that
         // the class itself cannot be an enum.
         supportsRegistry = supported;
@@ -202,6 +304,13 @@ public final class XRegistry<XForm extends XBase<XForm, BukkitForm>, BukkitForm>
             throw new IllegalStateException("Bukkit form is not an enum, abstraction or a registry " + bukkitFormClass);
         }
 
+        this.snapshot = new Snapshot<>(
+                new HashMap<>(20),
+                new NormalizedNameTable<>(NormalizedNameTable.Normalizer.REGISTRY, 20),
+                new IdentityHashMap<>(20),
+                bukkitClassType == ClassType.ENUM ? createArray.apply(bukkitFormClass.getEnumConstants().length) : null
+        );
+
         registerModule(this, xFormClass);
     }
 
@@ -209,21 +318,117 @@ public final class XRegistry<XForm extends XBase<XForm, BukkitForm>, BukkitForm>
         ENUM, ABSTRACTION;
     }
 
+    /**
+     * All the mappings of a registry at some point in time.
+     * Should not be modified after being published, unless the registry is not sealed yet.
+     */
+    private static final class Snapshot<XForm extends XBase<XForm, BukkitForm>, BukkitForm> {
+        /**
+         * All entries are lowercase.
+         * Entries that belong to "minecraft" namespace, are added without the namespace.
+         */
+        private final Map<String, XForm> nameMappings;
+        /**
+         * Same as {@link #nameMappings} but supports allocation-free lookups for {@link XRegistry#getByName(String)}.
+         */
+        private final NormalizedNameTable<XForm> nameTable;
+        private final Map<BukkitForm, XForm> bukkitToX;
+        /**
+         * Same as {@link #bukkitToX} but indexed by {@link Enum#ordinal()} for enum bukkit forms,
+         * so {@link XRegistry#getByBukkitForm(Object)} is a single array load. This is {@code null} for
+         * non-enum forms which use {@link #bukkitToX} instead (an open-addressing identity table itself).
+         */
+        private final XForm[] bukkitToXByOrdinal;
+
+        private Snapshot(Map<String, XForm> nameMappings, NormalizedNameTable<XForm> nameTable,
+                         Map<BukkitForm, XForm> bukkitToX, XForm[] bukkitToXByOrdinal) {
+            this.nameMappings = nameMappings;
+            this.nameTable = nameTable;
+            this.bukkitToX = bukkitToX;
+            this.bukkitToXByOrdinal = bukkitToXByOrdinal;
+        }
+
+        private Snapshot<XForm, BukkitForm> copy() {
+            return new Snapshot<>(
+                    new HashMap<>(nameMappings),
+                    nameTable.copy(),
+                    new IdentityHashMap<>(bukkitToX),
+                    bukkitToXByOrdinal == null ? null : bukkitToXByOrdinal.clone()
+            );
+        }
+
+        @Nullable
+        private XForm getByBukkit(BukkitForm bukkit) {
+            return bukkitToXByOrdinal != null ?
+                    bukkitToXByOrdinal[((Enum<?>) bukkit).ordinal()] : bukkitToX.get(bukkit);
+        }
+
+        private void putName(String normalized, XForm xForm) {
+            nameMappings.put(normalized, xForm);
+            nameTable.putNormalized(normalized, xForm);
+        }
+
+        private void putBukkit(BukkitForm bukkit, XForm xForm) {
+            bukkitToX.put(bukkit, xForm);
+            if (bukkitToXByOrdinal != null) bukkitToXByOrdinal[((Enum<?>) bukkit).ordinal()] = xForm;
+        }
+    }
+
+    /**
+     * Gets the snapshot that should be modified by the current writer.
+     * Must be called while holding the lock of this registry and followed by {@link #publish()}.
+     */
+    private Snapshot<XForm, BukkitForm> edit() {
+        if (draft == null) draft = sealed ? snapshot.copy() : snapshot;
+        return draft;
+    }
+
+    /**
+     * The latest state including the changes that are not published yet.
+     * Must be called while holding the lock of this registry.
+     */
+    private Snapshot<XForm, BukkitForm> current() {
+        return draft != null ? draft : snapshot;
+    }
+
+    /**
+     * Makes the changes of the current writer visible to all the readers at once.
+     */
+    private void publish() {
+        if (draft == null) return;
+        snapshot = draft;
+        draft = null;
+    }
+
     @ApiStatus.Internal
     public XRegistry(Class<BukkitForm> bukkitFormClass, Class<XForm> xFormClass, Function<Integer, XForm[]> createArray) {
         this(bukkitFormClass, xFormClass, null, null, createArray);
     }
 
+    /**
+     * New mappings should be added using {@link #registerName(String, XBase)} instead.
+     */
     @ApiStatus.Internal
+    @Unmodifiable
     @NotNull
     public Map<String, XForm> nameMapping() {
-        return nameMappings;
+        return Collections.unmodifiableMap(snapshot.nameMappings);
     }
 
+    /**
+     * New mappings should be added using {@link #registerBukkit(Object, XBase)} instead.
+     */
     @ApiStatus.Internal
+    @Unmodifiable
     @NotNull
     public Map<BukkitForm, XForm> bukkitMapping() {
-        return bukkitToX;
+        return Collections.unmodifiableMap(snapshot.bukkitToX);
+    }
+
+    @ApiStatus.Internal
+    public synchronized void registerBukkit(@NotNull BukkitForm bukkit, @NotNull XForm xForm) {
+        edit().putBukkit(bukkit, xForm);
+        publish();
     }
 
     /**
@@ -248,11 +453,22 @@ public final class XRegistry<XForm extends XBase<XForm, BukkitForm>, BukkitForm>
     }
 
     private void pullValues() {
-        if (!pulled) {
-            pulled = true;
-            if (creator == null) return;
-            pullFieldNames();
-            if (PERFORM_AUTO_ADD) pullSystemValues();
+        if (pulled) return;
+
+        synchronized (this) {
+            // Also prevents recursive calls from the same thread.
+            if (pulled || pulling) return;
+            pulling = true;
+
+            try {
+                if (creator == null) return;
+                pullFieldNames();
+                if (PERFORM_AUTO_ADD) pullSystemValues();
+            } finally {
+                publish();
+                pulled = true;
+                pulling = false;
+            }
         }
     }
 
@@ -272,8 +488,13 @@ public final class XRegistry<XForm extends XBase<XForm, BukkitForm>, BukkitForm>
     }
 
     @ApiStatus.Internal
-    public void registerName(String name, XForm xForm) {
-        nameMappings.put(normalizeName(name), xForm);
+    public synchronized void registerName(String name, XForm xForm) {
+        putName(name, xForm);
+        publish();
+    }
+
+    private void putName(String name, XForm xForm) {
+        edit().putName(normalizeName(name), xForm);
     }
 
     @SuppressWarnings("unused")
@@ -334,45 +555,93 @@ public final class XRegistry<XForm extends XBase<XForm, BukkitForm>, BukkitForm>
         return ((Registry<?>) registrySupplier.get());
     }
 
-    @SuppressWarnings("unchecked")
+    /**
+     * Same as {@link #getBukkit(String)} for the first name that exists.
+     * Uses the {@link RegistrySnapshot} if available to skip the names that are known to not exist.
+     */
     @Nullable
     protected BukkitForm getBukkit(String[] names) {
-        for (String name : names) {
-            BukkitForm bukkitForm;
-
-            if (supportsRegistry) {
-                name = name.toLowerCase(Locale.ENGLISH);
-                // if (!name.equals(name.toLowerCase(Locale.ENGLISH))) {
-                //     // Namespaces don't support uppercase names which is for enums.
-                //     continue;
-                // }
-
-                NamespacedKey key;
-                if (name.contains(":")) key = NamespacedKey.fromString(name);
-                else key = NamespacedKey.minecraft(name);
-
-                Keyed bukkit = bukkitRegistry().get(key);
-                if (bukkit != null) bukkitForm = (BukkitForm) bukkit;
-                else bukkitForm = null;
-            } else if (bukkitClassType == ClassType.ENUM) {
-                bukkitForm = valueOf(name);
-            } else if (bukkitClassType == ClassType.ABSTRACTION) {
-                // For classes like the Enchantment class for older versions.
-                bukkitForm = fieldOf(name);
-            } else {
-                throw new AssertionError("None of the class strategies worked for " + this);
+        if (names.length == 1) return getBukkit(names[0]);
+
+        String hintKey = resolvedHints == null ? null : hintKey(names);
+        if (hintKey != null && !snapshotHints.isEmpty()) {
+            Integer hint = snapshotHints.get(hintKey);
+            if (hint != null) {
+                int index = hint;
+                if (index == RegistrySnapshot.UNRESOLVED) {
+                    // Enums can't change for the same server version, but registries can be modified by data packs.
+                    if (!supportsRegistry && bukkitClassType == ClassType.ENUM) {
+                        recordHint(hintKey, RegistrySnapshot.UNRESOLVED);
+                        return null;
+                    }
+                } else if (index < names.length) {
+                    BukkitForm bukkitForm = getBukkit(names[index]);
+                    if (bukkitForm != null) {
+                        recordHint(hintKey, index);
+                        return bukkitForm;
+                    }
+                }
+                // The snapshot is stale for this entry, check everything again.
             }
+        }
 
-            if (bukkitForm != null) return bukkitForm;
+        for (int i = 0; i < names.length; i++) {
+            BukkitForm bukkitForm = getBukkit(names[i]);
+            if (bukkitForm != null) {
+                recordHint(hintKey, i);
+                return bukkitForm;
+            }
         }
+
+        recordHint(hintKey, RegistrySnapshot.UNRESOLVED);
         return null;
     }
 
+    private static String hintKey(String[] names) {
+        return String.join("|", names);
+    }
+
+    private void recordHint(@Nullable String hintKey, int index) {
+        if (hintKey == null || index > Byte.MAX_VALUE) return;
+        resolvedHints.put(hintKey, index);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Nullable
+    private BukkitForm getBukkit(String name) {
+        if (supportsRegistry) {
+            name = name.toLowerCase(Locale.ENGLISH);
+            // if (!name.equals(name.toLowerCase(Locale.ENGLISH))) {
+            //     // Namespaces don't support uppercase names which is for enums.
+            //     continue;
+            // }
+
+            NamespacedKey key;
+            if (name.contains(":")) key = NamespacedKey.fromString(name);
+            else key = NamespacedKey.minecraft(name);
+
+            Keyed bukkit = bukkitRegistry().get(key);
+            return bukkit == null ? null : (BukkitForm) bukkit;
+        } else if (bukkitClassType == ClassType.ENUM) {
+            return valueOf(name);
+        } else if (bukkitClassType == ClassType.ABSTRACTION) {
+            // For classes like the Enchantment class for older versions.
+            return fieldOf(name);
+        } else {
+            throw new AssertionError("None of the class strategies worked for " + this);
+        }
+    }
+
     /**
      * Saves memory.
      */
     @ApiStatus.Internal
-    public void discardMetadata() {
+    public synchronized void discardMetadata() {
+        // This is called at the end of the static initializer of XForm classes,
+        // after this point, the published snapshots must not be modified in-place anymore.
+        publish();
+        sealed = true;
+
         if (!DISCARD_METADATA) return;
         this.backingFields = null;
         this.metadata = null;
@@ -387,7 +656,7 @@ public final class XRegistry<XForm extends XBase<XForm, BukkitForm>, BukkitForm>
         pullValues();
 
         // Don't use nameMapping because it will return duplicates.
-        return Collections.unmodifiableCollection(bukkitToX.values());
+        return Collections.unmodifiableCollection(snapshot.bukkitToX.values());
     }
 
     /**
@@ -399,7 +668,7 @@ public final class XRegistry<XForm extends XBase<XForm, BukkitForm>, BukkitForm>
         pullValues();
 
         // Don't use getValues() for extra unmodifiable overhead.
-        Collection<XForm> values = bukkitToX.values();
+        Collection<XForm> values = snapshot.bukkitToX.values();
         return values.toArray(createArray.apply(values.size()));
     }
 
@@ -412,15 +681,23 @@ public final class XRegistry<XForm extends XBase<XForm, BukkitForm>, BukkitForm>
     @NotNull
     public XForm getByBukkitForm(BukkitForm bukkit) {
         Objects.requireNonNull(bukkit, () -> "Cannot match null " + registryName);
-        XForm mapping = bukkitToX.get(bukkit);
+        XForm mapping = snapshot.getByBukkit(bukkit);
 
         if (mapping == null) {
             if (!PERFORM_AUTO_ADD) // If you ever get this error, it could mean that you're not following Minecraft's new dot separated namespace format.
                 throw new UnsupportedOperationException("Unknown standard bukkit form (no auto-add) for " + registryName + ": " + bukkit);
             if (creator == null)
                 throw new UnsupportedOperationException("Unsupported value for " + registryName + ": " + bukkit);
-            XForm xForm = std(bukkit);
-            if (xForm == null) throw new IllegalStateException("Unknown " + registryName + ": " + bukkit);
+
+            synchronized (this) {
+                try {
+                    // Another thread might've already added it, std() checks for that.
+                    mapping = std(bukkit);
+                } finally {
+                    publish();
+                }
+            }
+            if (mapping == null) throw new IllegalStateException("Unknown " + registryName + ": " + bukkit);
         }
 
         return mapping;
@@ -431,7 +708,7 @@ public final class XRegistry<XForm extends XBase<XForm, BukkitForm>, BukkitForm>
         if (name.isEmpty()) return Optional.empty();
 
         pullValues(); // Ensure field names are loaded too.
-        return Optional.ofNullable(nameMappings.get(normalizeName(name)));
+        return snapshot.nameTable.lookup(name);
     }
 
     @SuppressWarnings("deprecation")
@@ -498,11 +775,7 @@ public final class XRegistry<XForm extends XBase<XForm, BukkitForm>, BukkitForm>
     }
 
     private static String normalizeName(String name) {
-        // TODO convert this into the format() method above.
-        name = name.toLowerCase(Locale.ENGLISH);
-        if (name.startsWith("minecraft:")) name = name.substring("minecraft:".length());
-        name = name.replace('.', '_'); // This is very unlikely to cause a conflict.
-        return name;
+        return NormalizedNameTable.Normalizer.REGISTRY.normalize(name);
     }
 
     private XForm std(BukkitForm bukkit) {
@@ -510,12 +783,12 @@ public final class XRegistry<XForm extends XBase<XForm, BukkitForm>, BukkitForm>
     }
 
     private XForm std(@Nullable String extraFieldName, BukkitForm bukkit) {
-        XForm xForm = bukkitToX.get(bukkit);
+        XForm xForm = current().getByBukkit(bukkit);
         if (xForm != null) return xForm;
 
         String name = getBukkitName(bukkit);
 
-        if (getBukkit(new String[]{name}) == null && extraFieldName == null) {
+        if (getBukkit(name) == null && extraFieldName == null) {
             // This happens in very rare cases, such as Biome's:
             // Biome CUSTOM = Bukkit.getUnsafe().getCustomBiome();
             // These values are not registered in the registry, but available for use.
@@ -530,15 +803,15 @@ public final class XRegistry<XForm extends XBase<XForm, BukkitForm>, BukkitForm>
         xForm = creator.apply(bukkit, extraFieldName == null ? new String[]{name} : new String[]{extraFieldName, name});
         if (!PERFORM_AUTO_ADD) return xForm;
 
-        registerName(name, xForm);
-        if (extraFieldName != null) registerName(extraFieldName, xForm);
-        bukkitToX.put(bukkit, xForm);
+        putName(name, xForm);
+        if (extraFieldName != null) putName(extraFieldName, xForm);
+        edit().putBukkit(bukkit, xForm);
 
         return xForm;
     }
 
     @ApiStatus.Internal
-    public XForm std(String[] names) {
+    public synchronized XForm std(String[] names) {
         // Doesn't matter if it's not supported, we should still create it.
         BukkitForm bukkit = getBukkit(names);
         XForm xForm = creator.apply(bukkit, names);
@@ -546,22 +819,30 @@ public final class XRegistry<XForm extends XBase<XForm, BukkitForm>, BukkitForm>
     }
 
     @ApiStatus.Internal
-    public BukkitForm stdEnum(XForm xForm, String[] names) {
+    public synchronized BukkitForm stdEnum(XForm xForm, String[] names) {
         String enumName = xForm.name();
 
         boolean merged = false;
-        BukkitForm bukkit = getBukkit(new String[]{enumName});
+        BukkitForm bukkit = getBukkit(enumName);
         if (bukkit == null) bukkit = getBukkit(names);
         if (bukkit == null) {
             bukkit = registerMerged(xForm);
             merged = true;
         }
 
-        return stdEnum0(xForm, names, bukkit, merged);
+        try {
+            return stdEnum0(xForm, names, bukkit, merged);
+        } finally {
+            publish();
+        }
     }
 
-    public BukkitForm stdEnum(XForm xForm, String[] names, BukkitForm bukkit) {
-        return stdEnum0(xForm, names, bukkit, false);
+    public synchronized BukkitForm stdEnum(XForm xForm, String[] names, BukkitForm bukkit) {
+        try {
+            return stdEnum0(xForm, names, bukkit, false);
+        } finally {
+            publish();
+        }
     }
 
     @ApiStatus.Internal
@@ -571,11 +852,11 @@ public final class XRegistry<XForm extends XBase<XForm, BukkitForm>, BukkitForm>
 
         if (!merged) registerMerged(xForm);
 
-        registerName(enumName, xForm);
+        putName(enumName, xForm);
         for (String name : names) {
-            registerName(name, xForm);
+            putName(name, xForm);
         }
-        if (bukkit != null) bukkitToX.put(bukkit, xForm);
+        if (bukkit != null) edit().putBukkit(bukkit, xForm);
         return bukkit;
     }
 
@@ -585,7 +866,7 @@ public final class XRegistry<XForm extends XBase<XForm, BukkitForm>, BukkitForm>
 
     @NotNull
     @ApiStatus.Internal
-    public Field getBackingField(XForm xForm) {
+    public synchronized Field getBackingField(XForm xForm) {
         try {
             return xForm.getClass().getDeclaredField(xForm.name());
         } catch (NoSuchFieldException e) {
@@ -637,7 +918,7 @@ public final class XRegistry<XForm extends XBase<XForm, BukkitForm>, BukkitForm>
 
     @ApiStatus.Internal
     @SuppressWarnings("ReflectionForUnavailableAnnotation")
-    public XModuleMetadata getOrRegisterMetadata(XForm form, Field formField, boolean peekOnly) {
+    public synchronized XModuleMetadata getOrRegisterMetadata(XForm form, Field formField, boolean peekOnly) {
         XModuleMetadata meta = metadata == null ? null : metadata.get(form);
         if (meta != null) return meta;
 
@@ -659,45 +940,47 @@ public final class XRegistry<XForm extends XBase<XForm, BukkitForm>, BukkitForm>
         XMerge[] merges = getOrRegisterMetadata(xForm, formField, true).getMerges();
         BukkitForm mergedBukkit = null;
         for (XMerge merge : merges) { // Will be an empty array if null.
-            mergedBukkit = getBukkit(new String[]{merge.name()});
-            registerName(merge.name(), xForm);
-            if (mergedBukkit != null) bukkitToX.put(mergedBukkit, xForm);
+            mergedBukkit = getBukkit(merge.name());
+            putName(merge.name(), xForm);
+            if (mergedBukkit != null) edit().putBukkit(mergedBukkit, xForm);
         }
         return mergedBukkit;
     }
 
     @ApiStatus.Internal
-    public XForm std(Function<BukkitForm, XForm> xForm, String[] names) {
+    public synchronized XForm std(Function<BukkitForm, XForm> xForm, String[] names) {
         BukkitForm bukkit = getBukkit(names);
         return std(xForm.apply(bukkit));
     }
 
     @ApiStatus.Internal
-    public XForm std(Function<BukkitForm, XForm> xForm, XForm tryOther, String[] names) {
+    public synchronized XForm std(Function<BukkitForm, XForm> xForm, XForm tryOther, String[] names) {
         BukkitForm bukkit = getBukkit(names);
         if (bukkit == null) bukkit = tryOther.get();
         return std(xForm.apply(bukkit));
     }
 
     @ApiStatus.Internal
-    public XForm std(XForm xForm) {
+    public synchronized XForm std(XForm xForm) {
         for (String name : xForm.getNames()) {
-            registerName(name, xForm);
+            putName(name, xForm);
         }
-        if (xForm.isSupported()) bukkitToX.put(xForm.get(), xForm);
+        if (xForm.isSupported()) edit().putBukkit(xForm.get(), xForm);
+        publish();
         return xForm;
     }
 
     @Override
     public String toString() {
+        Snapshot<XForm, BukkitForm> snapshot = this.snapshot;
         return "XRegistry<" + registryName + ">(" +
-                "nameMappings=" + nameMappings.size() + ", bukkitToX=" + bukkitToX.size() +
+                "nameMappings=" + snapshot.nameMappings.size() + ", bukkitToX=" + snapshot.bukkitToX.size() +
                 ", bukkitFormClass=" + bukkitFormClass.getName() +
                 ", xFormClass=" + xFormClass.getName() +
                 ", supportsRegistry=" + supportsRegistry +
                 ", bukkitFormClassType=" + bukkitClassType +
                 ", pulled=" + pulled +
-                ", values=[" + bukkitToX.values().stream().limit(10).map(XBase::name).collect(Collectors.joining(", ")) + ']' +
+                ", values=[" + snapshot.bukkitToX.values().stream().limit(10).map(XBase::name).collect(Collectors.joining(", ")) + ']' +
                 ')';
     }
 }
@@ -0,0 +1,217 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025 Crypto Morin
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+ * PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE
+ * FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.cryptomorin.xseries.particles;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Supplier;
+
+/**
+ * The escape-time grid of a fractal, computed separately from spawning the particles
+ * so it can be computed in parallel and reused when the same fractal is displayed again.
+ *
+ * @see Particles#mandelbrot(double, double, double, double, double, int, ParticleDisplay)
+ * @see Particles#julia(double, double, int, double, double, ParticleDisplay)
+ * @since 13.3.0
+ */
+final class FractalGrid {
+    /**
+     * The maximum number of points of all the grids kept in {@link #CACHE}, about 16 MB.
+     * Grids are weighed by their size since a single grid with a small rate can have millions of points,
+     * and grids larger than this are never cached.
+     */
+    private static final int MAX_CACHED_POINTS = 4 * 1024 * 1024;
+    /**
+     * Least recently used first. Guarded by its own monitor along with {@link #cachedPoints}
+     */
+    private static final LinkedHashMap<List<Object>, FractalGrid> CACHE = new LinkedHashMap<>(16, 0.75f, true);
+    private static long cachedPoints;
+    /**
+     * Grids with fewer points than this are computed in the calling thread.
+     */
+    private static final int PARALLEL_THRESHOLD = 64 * 64;
+    private static final int ROWS_PER_TASK = 8;
+
+    /**
+     * The coordinates of the outer and inner loop of the original algorithm.
+     */
+    final double[] rows, columns;
+    /**
+     * The remaining iterations of each point when it escaped, in row-major order.
+     * Zero means the point never escaped.
+     */
+    final int[] iterations;
+
+    private FractalGrid(double[] rows, double[] columns) {
+        this.rows = rows;
+        this.columns = columns;
+        this.iterations = new int[rows.length * columns.length];
+    }
+
+    /**
+     * Rows are the y axis and columns are the x axis.
+     */
+    static FractalGrid mandelbrot(double size, double zoom, double rate, double x0, double y0, int maxIterations) {
+        List<Object> key = Arrays.asList("mandelbrot", size, zoom, rate, x0, y0, maxIterations);
+        return cached(key, () -> {
+            double[] axis = axis(size, rate);
+            return compute(axis, axis, (y, x) -> {
+                double zy = 0;
+                double zx = 0;
+                double cX = (x - x0) / zoom;
+                double cY = (y - y0) / zoom;
+
+                int iteration = maxIterations;
+                while (zx * zx + zy * zy <= 4 && iteration > 0) {
+                    double xtemp = zx * zx - zy * zy + cX;
+                    zy = 2 * zx * zy + cY; // Changing 2 to 1 or -1 can give interesting results.
+                    zx = xtemp;
+                    iteration--;
+                }
+                return iteration;
+            });
+        });
+    }
+
+    /**
+     * Rows are the x axis and columns are the y axis.
+     */
+    static FractalGrid julia(double size, double zoom, int maxIterations, double moveX, double moveY) {
+        List<Object> key = Arrays.asList("julia", size, zoom, maxIterations, moveX, moveY);
+        return cached(key, () -> {
+            double cx = -0.7;
+            double cy = 0.27015;
+            double[] axis = axis(size, 0.1);
+
+            return compute(axis, axis, (x, y) -> {
+                double zx = 1.5 * (size - size / 2) / (0.5 * zoom * size) + moveX;
+                double zy = (y - size / 2) / (0.5 * zoom * size) + moveY;
+
+                int i = maxIterations;
+                while (zx * zx + zy * zy < 4 && i > 0) {
+                    double xtemp = zx * zx - zy * zy + cx;
+                    zy = 2 * zx * zy + cy;
+                    zx = xtemp;
+                    i--;
+                }
+                return i;
+            });
+        });
+    }
+
+    private static FractalGrid cached(List<Object> key, Supplier<FractalGrid> compute) {
+        synchronized (CACHE) {
+            FractalGrid grid = CACHE.get(key);
+            if (grid != null) return grid;
+        }
+
+        FractalGrid grid = compute.get();
+        int points = grid.iterations.length;
+        if (points > MAX_CACHED_POINTS) return grid;
+
+        synchronized (CACHE) {
+            FractalGrid previous = CACHE.put(key, grid);
+            if (previous != null) cachedPoints -= previous.iterations.length;
+            cachedPoints += points;
+
+            Iterator<FractalGrid> eldest = CACHE.values().iterator();
+            while (cachedPoints > MAX_CACHED_POINTS) {
+                cachedPoints -= eldest.next().iterations.length;
+                eldest.remove();
+            }
+        }
+        return grid;
+    }
+
+    /**
+     * The same coordinates of {@code for (double i = -size; i < size; i += rate)}
+     * including its floating-point errors.
+     */
+    private static double[] axis(double size, double rate) {
+        int count = 0;
+        for (double i = -size; i < size; i += rate) count++;
+
+        double[] axis = new double[count];
+        int index = 0;
+        for (double i = -size; i < size; i += rate) axis[index++] = i;
+        return axis;
+    }
+
+    private static FractalGrid compute(double[] rows, double[] columns, EscapeTime escapeTime) {
+        FractalGrid grid = new FractalGrid(rows, columns);
+        RowTask task = new RowTask(grid, escapeTime, 0, rows.length);
+
+        if ((long) rows.length * columns.length < PARALLEL_THRESHOLD) task.computeRows();
+        else ForkJoinPool.commonPool().invoke(task);
+        return grid;
+    }
+
+    @FunctionalInterface
+    private interface EscapeTime {
+        int remainingIterations(double row, double column);
+    }
+
+    /**
+     * Each task writes to its own rows of the grid.
+     */
+    private static final class RowTask extends RecursiveAction {
+        private final FractalGrid grid;
+        private final EscapeTime escapeTime;
+        private final int fromRow, toRow;
+
+        private RowTask(FractalGrid grid, EscapeTime escapeTime, int fromRow, int toRow) {
+            this.grid = grid;
+            this.escapeTime = escapeTime;
+            this.fromRow = fromRow;
+            this.toRow = toRow;
+        }
+
+        @Override
+        protected void compute() {
+            int rows = toRow - fromRow;
+            if (rows <= ROWS_PER_TASK) {
+                computeRows();
+                return;
+            }
+
+            int middle = fromRow + rows / 2;
+            invokeAll(new RowTask(grid, escapeTime, fromRow, middle), new RowTask(grid, escapeTime, middle, toRow));
+        }
+
+        private void computeRows() {
+            double[] columns = grid.columns;
+            int[] iterations = grid.iterations;
+            for (int row = fromRow; row < toRow; row++) {
+                double rowCoordinate = grid.rows[row];
+                int offset = row * columns.length;
+                for (int column = 0; column < columns.length; column++) {
+                    iterations[offset + column] = escapeTime.remainingIterations(rowCoordinate, columns[column]);
+                }
+            }
+        }
+    }
+}
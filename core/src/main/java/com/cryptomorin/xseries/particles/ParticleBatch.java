@@ -0,0 +1,308 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025 Crypto Morin
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+ * PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE
+ * FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.cryptomorin.xseries.particles;
+
+import com.cryptomorin.xseries.reflection.XReflection;
+import com.cryptomorin.xseries.reflection.minecraft.MinecraftConnection;
+import com.cryptomorin.xseries.reflection.minecraft.MinecraftMapping;
+import com.cryptomorin.xseries.reflection.minecraft.MinecraftPackage;
+import org.bukkit.Location;
+import org.bukkit.Particle;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Collects the particles of a single frame as pre-built packets and sends them to
+ * each viewer at once, instead of going through the Bukkit API for every single point
+ * which builds a new packet and looks up the nearby players every time.
+ * <p>
+ * The packets are built once and the same packet objects are shared between all the viewers.
+ * Only supported on 1.15+ servers, {@link #SUPPORTED} is false otherwise and particles are spawned normally.
+ *
+ * @see ParticleDisplay#batch(java.util.function.Consumer)
+ * @since 13.3.0
+ */
+final class ParticleBatch {
+    /**
+     * {@code CraftParticle.createParticleParam(Particle, Object)} or
+     * {@code CraftParticle.toNMS(Particle, Object)} before 1.20.5
+     */
+    private static final MethodHandle PARTICLE_OPTIONS;
+    /**
+     * {@code (ParticleOptions, overrideLimiter, alwaysShow, x, y, z, xDist, yDist, zDist, maxSpeed, count)}
+     * {@code alwaysShow} was added in 1.21.4 and is ignored for older versions.
+     */
+    private static final MethodHandle PACKET;
+    static final boolean SUPPORTED;
+
+    /**
+     * The max distance that the server sends particles to.
+     * See {@code ServerLevel#sendParticles}
+     */
+    private static final double VIEW_RANGE = 32, FORCED_VIEW_RANGE = 512;
+
+    static {
+        MethodHandle particleOptions = null, packet = null;
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            Class<?> craftParticle = XReflection.ofMinecraft().inPackage(MinecraftPackage.CB).named("CraftParticle").reflect();
+            for (Method method : craftParticle.getDeclaredMethods()) {
+                String name = method.getName();
+                if ((name.equals("createParticleParam") || name.equals("toNMS")) && Modifier.isStatic(method.getModifiers()) &&
+                        Arrays.equals(method.getParameterTypes(), new Class[]{Particle.class, Object.class})) {
+                    particleOptions = lookup.unreflect(method)
+                            .asType(MethodType.methodType(Object.class, Particle.class, Object.class));
+                    break;
+                }
+            }
+
+            Class<?> packetClass = XReflection.ofMinecraft()
+                    .inPackage(MinecraftPackage.NMS, "network.protocol.game")
+                    .map(MinecraftMapping.MOJANG, "ClientboundLevelParticlesPacket")
+                    .map(MinecraftMapping.SPIGOT, "PacketPlayOutWorldParticles")
+                    .reflect();
+
+            MethodType generic = MethodType.methodType(Object.class, Object.class, boolean.class, boolean.class,
+                    double.class, double.class, double.class, float.class, float.class, float.class, float.class, int.class);
+            for (Constructor<?> ctor : packetClass.getDeclaredConstructors()) {
+                Class<?>[] params = ctor.getParameterTypes();
+                if (params.length == 11 && params[1] == boolean.class && params[2] == boolean.class && params[3] == double.class) {
+                    packet = lookup.unreflectConstructor(ctor).asType(generic.changeReturnType(packetClass).changeParameterType(0, params[0]));
+                } else if (params.length == 10 && params[1] == boolean.class && params[2] == double.class) {
+                    packet = MethodHandles.dropArguments(lookup.unreflectConstructor(ctor), 2, boolean.class)
+                            .asType(generic.changeReturnType(packetClass).changeParameterType(0, params[0]));
+                } else continue;
+
+                packet = packet.asType(generic);
+                break;
+            }
+        } catch (Throwable ignored) {
+            // Older versions or unknown server software, just use the normal Bukkit API.
+            particleOptions = null;
+            packet = null;
+        }
+
+        PARTICLE_OPTIONS = particleOptions;
+        PACKET = packet;
+        SUPPORTED = particleOptions != null && packet != null;
+    }
+
+    /**
+     * Viewers further than this distance from the center of the frame only receive every {@link #lodStep}-th point.
+     */
+    private final double lodDistance;
+    private final int lodStep;
+
+    private Object[] packets = new Object[64];
+    private double[] positions = new double[64 * 3];
+    private World[] worlds = new World[64];
+    private boolean[] forced = new boolean[64];
+    private int size;
+    private boolean flushed;
+    /**
+     * The total packets sent and the viewers that received at least one packet by {@link #flush(Collection)}
+     */
+    private long sentPackets, reachedViewers;
+
+    /**
+     * The last particle options, most points of a frame use the same particle and data.
+     */
+    private Particle lastParticle;
+    private Object lastData, lastOptions;
+
+    /**
+     * @param lodDistance the distance that {@code lodStep} applies to.
+     * @param lodStep     the step used to skip points for distant viewers, 1 or less disables it.
+     */
+    ParticleBatch(double lodDistance, int lodStep) {
+        this.lodDistance = lodDistance;
+        this.lodStep = lodStep;
+    }
+
+    /**
+     * @return false if this batch was already flushed, in which case the particle must be spawned normally.
+     */
+    synchronized boolean add(@NotNull Particle particle, @Nullable Object data, @NotNull World world,
+                             double x, double y, double z, int count,
+                             double dx, double dy, double dz, double extra, boolean force) {
+        if (flushed) return false;
+
+        Object packet;
+        try {
+            if (particle != lastParticle || data != lastData) {
+                lastOptions = PARTICLE_OPTIONS.invoke(particle, data);
+                lastParticle = particle;
+                lastData = data;
+            }
+
+            packet = PACKET.invoke(lastOptions, force, false, x, y, z,
+                    (float) dx, (float) dy, (float) dz, (float) extra, count);
+        } catch (Throwable ex) {
+            throw new IllegalStateException("Failed to create particle packet for " + particle + " with data " + data, ex);
+        }
+
+        if (size == packets.length) {
+            int newSize = size << 1;
+            packets = Arrays.copyOf(packets, newSize);
+            positions = Arrays.copyOf(positions, newSize * 3);
+            worlds = Arrays.copyOf(worlds, newSize);
+            forced = Arrays.copyOf(forced, newSize);
+        }
+
+        int index = size++;
+        packets[index] = packet;
+        worlds[index] = world;
+        forced[index] = force;
+        positions[index * 3] = x;
+        positions[index * 3 + 1] = y;
+        positions[index * 3 + 2] = z;
+        return true;
+    }
+
+    synchronized boolean isFlushed() {
+        return flushed;
+    }
+
+    long getSentPackets() {
+        return sentPackets;
+    }
+
+    long getReachedViewers() {
+        return reachedViewers;
+    }
+
+    /**
+     * Sends all the collected packets.
+     * The audience of each world is computed once using the bounding sphere of all the points in that world,
+     * so viewers that can't see any of the points are skipped entirely and viewers that can see all of them
+     * don't need to check each point separately.
+     *
+     * @param players the players to send the particles to, or null to send them to
+     *                all the players that are near the particles similar to {@link World#spawnParticle}
+     */
+    void flush(@Nullable Collection<Player> players) {
+        Object[] packets;
+        double[] positions;
+        World[] worlds;
+        boolean[] forced;
+        int size;
+        synchronized (this) {
+            if (flushed) return;
+            flushed = true;
+
+            packets = this.packets;
+            positions = this.positions;
+            worlds = this.worlds;
+            forced = this.forced;
+            size = this.size;
+
+            // Displays copied during the frame might still reference this batch, don't keep the packets alive.
+            this.packets = null;
+            this.positions = null;
+            this.worlds = null;
+            this.forced = null;
+            this.lastParticle = null;
+            this.lastData = null;
+            this.lastOptions = null;
+        }
+        if (size == 0) return;
+
+        // Most of the time all the particles are in the same world.
+        List<World> sentWorlds = new ArrayList<>(1);
+        int[] indices = new int[size];
+        Object[] visible = new Object[size];
+        Location location = new Location(null, 0, 0, 0);
+        for (int i = 0; i < size; i++) {
+            World world = worlds[i];
+            if (sentWorlds.contains(world)) continue;
+            sentWorlds.add(world);
+
+            double minX = Double.MAX_VALUE, minY = Double.MAX_VALUE, minZ = Double.MAX_VALUE;
+            double maxX = -Double.MAX_VALUE, maxY = -Double.MAX_VALUE, maxZ = -Double.MAX_VALUE;
+            boolean anyForced = false;
+            int count = 0;
+            for (int j = i; j < size; j++) {
+                if (worlds[j] != world) continue;
+                indices[count++] = j;
+
+                double x = positions[j * 3], y = positions[j * 3 + 1], z = positions[j * 3 + 2];
+                if (x < minX) minX = x;
+                if (y < minY) minY = y;
+                if (z < minZ) minZ = z;
+                if (x > maxX) maxX = x;
+                if (y > maxY) maxY = y;
+                if (z > maxZ) maxZ = z;
+                anyForced |= forced[j];
+            }
+
+            double centerX = (minX + maxX) / 2, centerY = (minY + maxY) / 2, centerZ = (minZ + maxZ) / 2;
+            double radius = Math.sqrt((maxX - minX) * (maxX - minX) + (maxY - minY) * (maxY - minY) + (maxZ - minZ) * (maxZ - minZ)) / 2;
+            double maxRange = anyForced ? FORCED_VIEW_RANGE : VIEW_RANGE;
+
+            for (Player player : players == null ? world.getPlayers() : players) {
+                if (players != null && (!player.isOnline() || player.getWorld() != world)) continue;
+
+                player.getLocation(location);
+                double x = location.getX(), y = location.getY(), z = location.getZ();
+                double distX = centerX - x, distY = centerY - y, distZ = centerZ - z;
+                double distance = Math.sqrt(distX * distX + distY * distY + distZ * distZ);
+                if (distance - radius > maxRange) continue;
+
+                int step = lodStep > 1 && distance > lodDistance ? lodStep : 1;
+                boolean allVisible = distance + radius <= VIEW_RANGE;
+
+                int sent = 0;
+                for (int k = 0; k < count; k += step) {
+                    int j = indices[k];
+                    if (!allVisible) {
+                        double pointX = positions[j * 3] - x;
+                        double pointY = positions[j * 3 + 1] - y;
+                        double pointZ = positions[j * 3 + 2] - z;
+                        double range = forced[j] ? FORCED_VIEW_RANGE : VIEW_RANGE;
+                        if (pointX * pointX + pointY * pointY + pointZ * pointZ > range * range) continue;
+                    }
+                    visible[sent++] = packets[j];
+                }
+
+                if (sent != 0) {
+                    MinecraftConnection.sendPacket(player, sent == size ? visible : Arrays.copyOf(visible, sent));
+                    sentPackets += sent;
+                    reachedViewers++;
+                }
+            }
+        }
+    }
+}
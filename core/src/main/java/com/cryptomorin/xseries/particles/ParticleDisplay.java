@@ -28,6 +28,7 @@ import org.bukkit.entity.Entity;
 import org.bukkit.entity.Player;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.material.MaterialData;
+import org.bukkit.plugin.Plugin;
 import org.bukkit.util.NumberConversions;
 import org.bukkit.util.Vector;
 import org.jetbrains.annotations.NotNull;
@@ -147,6 +148,16 @@ public class ParticleDisplay {
      */
     @NotNull
     private static final XParticle DEFAULT_PARTICLE = XParticle.FLAME;
+    /**
+     * The max distance squared that clients render particles from when they're forced.
+     * {@link Player#spawnParticle} always sends the particles with long distance enabled.
+     */
+    private static final double PLAYER_VIEW_DISTANCE = 512 * 512;
+    /**
+     * Reused by {@link Player#getLocation(Location)} to check the distance of each viewer without allocating a new location
+     * for every particle. Thread-local because the same display can be used by animations running on different threads.
+     */
+    private static final ThreadLocal<Location> VIEWER_LOCATION = ThreadLocal.withInitial(() -> new Location(null, 0, 0, 0));
 
     public int count = 1;
     /**
@@ -195,6 +206,14 @@ public class ParticleDisplay {
     public List<List<Rotation>> rotations = new ArrayList<>();
     @Nullable
     private List<Quaternion> cachedFinalRotationQuaternions;
+    /**
+     * All the {@link #getRotation(boolean)} groups combined as a row-major 3x3 matrix,
+     * and the list that it was computed from to know when it's outdated.
+     */
+    @Nullable
+    private double[] cachedRotationMatrix;
+    @Nullable
+    private List<Quaternion> cachedRotationMatrixSource;
     @Nullable
     private ParticleData data;
     @Nullable
@@ -205,6 +224,21 @@ public class ParticleDisplay {
     private Function<Double, Double> onAdvance;
     @Nullable
     private Set<Player> players;
+    /**
+     * The frame that's currently being collected by {@link #batch(Consumer)}, shared with {@link #copy()}
+     */
+    @Nullable
+    private ParticleBatch batch;
+    /**
+     * See {@link #withLevelOfDetail(double, int)}
+     */
+    private double lodDistance;
+    private int lodStep = 1;
+    /**
+     * The plugin that {@link ParticleMetrics} are accounted to.
+     */
+    @Nullable
+    private Plugin plugin;
 
     /**
      * Builds a simple ParticleDisplay object with cross-version
@@ -896,6 +930,49 @@ public class ParticleDisplay {
         return this;
     }
 
+    /**
+     * Sets the plugin that the particles spawned by this display are accounted to in {@link ParticleMetrics}
+     *
+     * @param plugin the plugin spawning the particles.
+     * @return the same particle display, but modified.
+     * @since 13.3.0
+     */
+    @NotNull
+    public ParticleDisplay withPlugin(@Nullable Plugin plugin) {
+        this.plugin = plugin;
+        return this;
+    }
+
+    /**
+     * @return the plugin that the particles are accounted to, if any.
+     * @since 13.3.0
+     */
+    @Nullable
+    public Plugin getPlugin() {
+        return plugin;
+    }
+
+    /**
+     * Reduces the density of shapes spawned in {@link #batch(Consumer)} for players that are far away from them.
+     * The distance is measured from the center of all the points of each frame, and players
+     * further than that distance only receive every {@code step}-th point of the frame.
+     * <pre>{@code
+     * display.withLevelOfDetail(16, 2).batch(d -> Particles.sphere(3, 20, d));
+     * }</pre>
+     *
+     * @param distance the distance in blocks after which the points are reduced.
+     * @param step     the step of the points sent to distant players, 1 sends all the points.
+     * @return the same particle display, but modified.
+     * @since 13.3.0
+     */
+    @NotNull
+    public ParticleDisplay withLevelOfDetail(double distance, int step) {
+        if (step < 1) throw new IllegalArgumentException("Level of detail step must be at least 1: " + step);
+        this.lodDistance = distance;
+        this.lodStep = step;
+        return this;
+    }
+
     /**
      * Adds color properties to the particle settings.
      * The particle must be {@link Particle#DUST}
@@ -1220,9 +1297,39 @@ public class ParticleDisplay {
             display.rotations = new ArrayList<>(this.rotations);
         }
         display.data = data;
+        // Copies made during a frame are part of it, but copies that outlive it shouldn't keep a reference to it.
+        if (batch != null && !batch.isFlushed()) display.batch = batch;
+        display.lodDistance = lodDistance;
+        display.lodStep = lodStep;
+        display.plugin = plugin;
         return display;
     }
 
+    /**
+     * A full {@link #copy()} for {@link ParticleProfile} that also shares the rotations that were
+     * already computed by {@link #precomputeRotations()}, since they're never modified in place.
+     */
+    @NotNull
+    ParticleDisplay copyFromProfile() {
+        ParticleDisplay display = copy();
+        display.extra = extra;
+        if (particleDirection != null) display.particleDirection = particleDirection.clone();
+        display.onAdvance = onAdvance;
+        display.cachedFinalRotationQuaternions = cachedFinalRotationQuaternions;
+        display.cachedRotationMatrix = cachedRotationMatrix;
+        display.cachedRotationMatrixSource = cachedRotationMatrixSource;
+        // Profiles outlive the frame that they might've been created in.
+        display.batch = null;
+        return display;
+    }
+
+    /**
+     * Computes the rotation quaternions and their matrix ahead of time.
+     */
+    void precomputeRotations() {
+        if (!rotations.isEmpty()) getRotationMatrix();
+    }
+
     /**
      * @see #getPrincipalAxesRotation(float, float, float)
      */
@@ -1342,7 +1449,7 @@ public class ParticleDisplay {
             List<Rotation> finalRots = Arrays.stream(rotations).filter(x -> x.angle != 0).collect(Collectors.toList());
             if (!finalRots.isEmpty()) {
                 this.rotations.add(finalRots);
-                if (this.cachedFinalRotationQuaternions != null) this.cachedFinalRotationQuaternions.clear();
+                this.cachedFinalRotationQuaternions = null;
             }
         }
 
@@ -1356,7 +1463,7 @@ public class ParticleDisplay {
         Objects.requireNonNull(rotation, "Null rotation");
         if (rotation.angle != 0) {
             this.rotations.add(Collections.singletonList(rotation));
-            if (this.cachedFinalRotationQuaternions != null) this.cachedFinalRotationQuaternions.clear();
+            this.cachedFinalRotationQuaternions = null;
         }
 
         return this;
@@ -1380,33 +1487,84 @@ public class ParticleDisplay {
      */
     @Nullable
     public Location finalizeLocation(@Nullable Vector local) {
-        CalculationContext preContext = new CalculationContext(location, local);
+        if (!ParticleMetrics.isEnabled()) return calculateLocation(local);
 
-        if (this.preCalculation != null) this.preCalculation.accept(preContext);
-        if (!preContext.shouldSpawn) return null;
+        long start = System.nanoTime();
+        try {
+            return calculateLocation(local);
+        } finally {
+            ParticleMetrics.recordFinalize(particle, plugin, System.nanoTime() - start);
+        }
+    }
 
-        Location location = preContext.location;
-        if (location == null) throw new IllegalStateException("Attempting to spawn particle when no location is set");
-        // Exception check after preCalculation to account for dynamic location callers from withEntity()
+    @Nullable
+    private Location calculateLocation(@Nullable Vector local) {
+        Location location = this.location;
+        if (this.preCalculation != null) {
+            CalculationContext preContext = new CalculationContext(location, local);
+            this.preCalculation.accept(preContext);
+            if (!preContext.shouldSpawn) return null;
 
-        local = preContext.local;
-        if (local != null && !rotations.isEmpty()) {
-            List<Quaternion> rotations = getRotation(false);
-            for (Quaternion grouped : rotations) {
-                local = Quaternion.rotate(local, grouped);
-            }
+            location = preContext.location;
+            local = preContext.local;
         }
 
+        // Exception check after preCalculation to account for dynamic location callers from withEntity()
+        if (location == null) throw new IllegalStateException("Attempting to spawn particle when no location is set");
         location = cloneLocation(location);
-        if (local != null) location.add(local);
 
-        CalculationContext postContext = new CalculationContext(location, local);
-        if (this.postCalculation != null) this.postCalculation.accept(postContext);
-        if (!postContext.shouldSpawn) return null;
+        if (local != null) {
+            if (rotations.isEmpty()) {
+                location.add(local);
+            } else {
+                double[] matrix = getRotationMatrix();
+                double x = local.getX(), y = local.getY(), z = local.getZ();
+                double rx = matrix[0] * x + matrix[1] * y + matrix[2] * z;
+                double ry = matrix[3] * x + matrix[4] * y + matrix[5] * z;
+                double rz = matrix[6] * x + matrix[7] * y + matrix[8] * z;
+
+                location.add(rx, ry, rz);
+                // The rotated vector is only needed for the callback.
+                if (this.postCalculation != null) local = new Vector(rx, ry, rz);
+            }
+        }
+
+        if (this.postCalculation != null) {
+            CalculationContext postContext = new CalculationContext(location, local);
+            this.postCalculation.accept(postContext);
+            if (!postContext.shouldSpawn) return null;
+        }
 
         return location;
     }
 
+    /**
+     * Since rotations are linear, the result of applying all the {@link #getRotation(boolean)}
+     * groups in order can be represented as a single 3x3 matrix, which is computed by
+     * rotating the basis vectors the same way {@link Quaternion#rotate(Vector, Quaternion)} does.
+     */
+    private double[] getRotationMatrix() {
+        List<Quaternion> rotations = getRotation(false);
+        double[] matrix = this.cachedRotationMatrix;
+        if (matrix != null && this.cachedRotationMatrixSource == rotations) return matrix;
+
+        matrix = new double[9];
+        for (int column = 0; column < 3; column++) {
+            Vector basis = new Vector(column == 0 ? 1 : 0, column == 1 ? 1 : 0, column == 2 ? 1 : 0);
+            for (Quaternion grouped : rotations) {
+                basis = Quaternion.rotate(basis, grouped);
+            }
+
+            matrix[column] = basis.getX();
+            matrix[3 + column] = basis.getY();
+            matrix[6 + column] = basis.getZ();
+        }
+
+        this.cachedRotationMatrix = matrix;
+        this.cachedRotationMatrixSource = rotations;
+        return matrix;
+    }
+
     public final class CalculationContext {
         private Location location;
         private Vector local;
@@ -1526,6 +1684,40 @@ public class ParticleDisplay {
         return particleDirection != null;
     }
 
+    /**
+     * Collects all the particles that are spawned by the given frame, including the ones spawned
+     * by {@link #copy() copies} of this display, and sends them at the end as pre-built packets.
+     * Each viewer gets all of their packets at once, instead of going through the Bukkit API
+     * for every single point. This is useful for shapes with a lot of points:
+     * <pre>{@code
+     * display.batch(d -> Particles.sphere(3, 20, d));
+     * }</pre>
+     * The particles will be spawned normally if this is not supported on the current server version,
+     * or if they're spawned after the frame is done, e.g. by an animation task started in the frame.
+     *
+     * @param frame the code that spawns the particles using the given display, which is this same object.
+     * @return the same particle display.
+     * @since 13.3.0
+     */
+    @NotNull
+    public ParticleDisplay batch(@NotNull Consumer<ParticleDisplay> frame) {
+        // Nested batches are part of the outer one.
+        if (!ParticleBatch.SUPPORTED || this.batch != null) {
+            frame.accept(this);
+            return this;
+        }
+
+        ParticleBatch batch = new ParticleBatch(lodDistance, lodStep);
+        this.batch = batch;
+        try {
+            frame.accept(this);
+        } finally {
+            this.batch = null;
+            flush(batch);
+        }
+        return this;
+    }
+
     /**
      * Spawns the particle at the current location.
      *
@@ -1601,7 +1793,7 @@ public class ParticleDisplay {
         }
 
         // Nothing weird, just spawn the particles normally.
-        spawnRaw(particle, loc, count, offset, data);
+        spawnRaw(batch, particle, loc, count, offset, data);
         return loc;
     }
 
@@ -1616,34 +1808,105 @@ public class ParticleDisplay {
         // If there is no offset and we only want a single particle, we don't actually need to do anything special.
         // Otherwise, we'll at least need to use a loop.
         if (isZero(offset) && count < 2) {
-            spawnRaw(particle, loc, 0, offsetData, data);
+            spawnRaw(batch, particle, loc, 0, offsetData, data);
             return;
         }
         // Particles with a specific direction must be flagged with count = 0,
         // so we have to spawn each particle manually.
-        double offsetx = offset.getX();
-        double offsety = offset.getY();
-        double offsetz = offset.getZ();
-        ThreadLocalRandom r = ThreadLocalRandom.current();
-        for (int i = 0; i < count; i++) {
-            // When specifying an offset normally, bound of 1 gets you an 8 block range,
-            // being +/- 4 blocks in each direction from the origin. Uses a Gaussian distribution.
-            // Gaussian distribution uses a sqrt, so skip that if we can.
-            double dx = offsetx == 0 ? 0 : r.nextGaussian() * 4 * offsetx;
-            double dy = offsety == 0 ? 0 : r.nextGaussian() * 4 * offsety;
-            double dz = offsetz == 0 ? 0 : r.nextGaussian() * 4 * offsetz;
-            Location offsetLoc = cloneLocation(loc).add(dx, dy, dz);
-            spawnRaw(particle, offsetLoc, 0, offsetData, data);
+        // When specifying an offset normally, bound of 1 gets you an 8 block range,
+        // being +/- 4 blocks in each direction from the origin. Uses a Gaussian distribution.
+        double offsetx = offset.getX() * 4;
+        double offsety = offset.getY() * 4;
+        double offsetz = offset.getZ() * 4;
+        int count = this.count;
+
+        // Gaussian distribution uses a sqrt, so skip the axes that we don't need.
+        int axes = (offsetx == 0 ? 0 : 1) + (offsety == 0 ? 0 : 1) + (offsetz == 0 ? 0 : 1);
+        double[] gaussians = new double[axes * count];
+        nextGaussians(ThreadLocalRandom.current(), gaussians);
+
+        World world = loc.getWorld();
+        double x = loc.getX(), y = loc.getY(), z = loc.getZ();
+        double dataX = offsetData.getX(), dataY = offsetData.getY(), dataZ = offsetData.getZ();
+
+        // Send all the particles at once if they're not already part of a frame.
+        ParticleBatch batch = this.batch;
+        boolean ownBatch = batch == null && count > 1 && ParticleBatch.SUPPORTED;
+        if (ownBatch) batch = new ParticleBatch(lodDistance, lodStep);
+
+        try {
+            for (int i = 0, gaussian = 0; i < count; i++) {
+                double dx = offsetx == 0 ? 0 : gaussians[gaussian++] * offsetx;
+                double dy = offsety == 0 ? 0 : gaussians[gaussian++] * offsety;
+                double dz = offsetz == 0 ? 0 : gaussians[gaussian++] * offsetz;
+                spawnRaw(batch, particle, world, x + dx, y + dy, z + dz, 0, dataX, dataY, dataZ, data);
+            }
+        } finally {
+            if (ownBatch) flush(batch);
+        }
+    }
+
+    private void flush(ParticleBatch batch) {
+        if (!ParticleMetrics.isEnabled()) {
+            batch.flush(players);
+            return;
+        }
+
+        long start = System.nanoTime();
+        batch.flush(players);
+        ParticleMetrics.recordFlush(particle, plugin, batch.getSentPackets(), batch.getReachedViewers(), System.nanoTime() - start);
+    }
+
+    /**
+     * Fills the array with standard Gaussian values using the polar method,
+     * which generates two values at a time.
+     */
+    private static void nextGaussians(ThreadLocalRandom random, double[] gaussians) {
+        for (int i = 0; i < gaussians.length; i += 2) {
+            double v1, v2, s;
+            do {
+                v1 = 2 * random.nextDouble() - 1;
+                v2 = 2 * random.nextDouble() - 1;
+                s = v1 * v1 + v2 * v2;
+            } while (s >= 1 || s == 0);
+
+            double multiplier = Math.sqrt(-2 * Math.log(s) / s);
+            gaussians[i] = v1 * multiplier;
+            if (i + 1 < gaussians.length) gaussians[i + 1] = v2 * multiplier;
         }
     }
 
     /**
      * Calls the appropriate spawnParticle method with the parameters given.
      */
-    private void spawnRaw(Particle particle, Location loc, int count, Vector offset, Object data) {
-        double dx = offset.getX();
-        double dy = offset.getY();
-        double dz = offset.getZ();
+    private void spawnRaw(ParticleBatch batch, Particle particle, Location loc, int count, Vector offset, Object data) {
+        spawnRaw(batch, particle, loc.getWorld(), loc.getX(), loc.getY(), loc.getZ(),
+                count, offset.getX(), offset.getY(), offset.getZ(), data);
+    }
+
+    /**
+     * Calls the appropriate spawnParticle method with the parameters given.
+     *
+     * @param batch the batch to add the particle to, or null to spawn it directly.
+     */
+    private void spawnRaw(ParticleBatch batch, Particle particle, World world, double x, double y, double z,
+                          int count, double dx, double dy, double dz, Object data) {
+        if (!ParticleMetrics.isEnabled()) {
+            sendParticle(batch, particle, world, x, y, z, count, dx, dy, dz, data);
+            return;
+        }
+
+        long start = System.nanoTime();
+        int packets = sendParticle(batch, particle, world, x, y, z, count, dx, dy, dz, data);
+        // A count of 0 is used for directional particles which still spawns a single particle.
+        ParticleMetrics.recordSpawn(this.particle, plugin, Math.max(count, 1), packets, System.nanoTime() - start);
+    }
+
+    /**
+     * @return the number of packets sent, one for each viewer if it was sent to specific players directly.
+     */
+    private int sendParticle(ParticleBatch batch, Particle particle, World world, double x, double y, double z,
+                             int count, double dx, double dy, double dz, Object data) {
         double extra = this.extra;
         if (this.particle == XParticle.DUST || this.particle == XParticle.NOTE) {
             // The "extra" field has no effect on dust particles in some versions,
@@ -1652,13 +1915,34 @@ public class ParticleDisplay {
             // always put the color in dx and set extra to 1.
             extra = 1;
         }
-        if (players == null)
+        if (batch != null) {
+            // Particles sent to specific players are always long distance, same as Player#spawnParticle
+            if (batch.add(particle, data, world, x, y, z, count, dx, dy, dz, extra, force || players != null)) return 0;
+            // A copy that was made during a frame that's already sent.
+            if (batch == this.batch) this.batch = null;
+        }
+
+        if (players == null) {
             if (ISFLAT)
-                loc.getWorld().spawnParticle(particle, loc, count, dx, dy, dz, extra, data, force);
-            else loc.getWorld().spawnParticle(particle, loc, count, dx, dy, dz, extra, data);
-        else {
-            for (Player player : players)
-                player.spawnParticle(particle, loc, count, dx, dy, dz, extra, data);
+                world.spawnParticle(particle, x, y, z, count, dx, dy, dz, extra, data, force);
+            else world.spawnParticle(particle, x, y, z, count, dx, dy, dz, extra, data);
+            return 0;
+        } else {
+            int viewers = 0;
+            Location viewer = VIEWER_LOCATION.get();
+            for (Player player : players) {
+                // The client ignores long distance particles that are further than this anyway.
+                player.getLocation(viewer);
+                if (viewer.getWorld() != world) continue;
+                double distX = viewer.getX() - x, distY = viewer.getY() - y, distZ = viewer.getZ() - z;
+                if (distX * distX + distY * distY + distZ * distZ > PLAYER_VIEW_DISTANCE) continue;
+
+                player.spawnParticle(particle, x, y, z, count, dx, dy, dz, extra, data);
+                viewers++;
+            }
+            // Don't keep unloaded worlds alive.
+            viewer.setWorld(null);
+            return viewers;
         }
     }
 
@@ -0,0 +1,431 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025 Crypto Morin
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+ * PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE
+ * FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.cryptomorin.xseries.particles;
+
+import org.bukkit.Bukkit;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitTask;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Runs many particle animations from a single asynchronous timer instead of
+ * starting one {@link BukkitTask} for each animation.
+ * <pre>{@code
+ * ParticleEngine engine = new ParticleEngine(plugin, 20, TimeUnit.MILLISECONDS, 2);
+ * engine.start();
+ *
+ * engine.schedule(Particles.helix(2, 2, 20, 1, 10, 1, 0.1, false, false, display));
+ * engine.scheduleAll(Particles.star(6, 4, 1, 4, 0.3, 1, false, 1, display));
+ *
+ * // In onDisable()
+ * engine.stop();
+ * }</pre>
+ * Each animation step is the same {@link BooleanSupplier} returned by the non-plugin
+ * methods in {@link Particles}, which is called once every tick until it returns false.
+ * <p>
+ * The steps of a single tick are spread across a bounded number of worker threads and
+ * are only started while the tick's time budget isn't exceeded. The steps that didn't
+ * get a chance to run are deferred and run first in the next tick, so animations slow
+ * down instead of stalling the timer when there is too much to do.
+ * A single animation is never run by two threads at the same time.
+ *
+ * @since 13.3.0
+ */
+public final class ParticleEngine {
+    /**
+     * The minimum number of animations each worker should handle before another worker is used.
+     */
+    private static final int MIN_WORKER_ANIMATIONS = 16;
+    private static final AtomicInteger ENGINE_ID = new AtomicInteger();
+    /**
+     * The engine whose animation step is currently running on this thread, used to detect {@link #stop()} calls from steps.
+     */
+    private static final ThreadLocal<ParticleEngine> STEPPING = new ThreadLocal<>();
+
+    private final Plugin plugin;
+    private final long tickBudget;
+    private final int workers;
+
+    private final Queue<Animation> pending = new ConcurrentLinkedQueue<>();
+    /**
+     * Only accessed by the thread that's currently running {@link #tick()}
+     * and the workers it dispatches to.
+     */
+    private List<Animation> active = new ArrayList<>();
+    /**
+     * Held while a tick is running or the animations are being cancelled.
+     */
+    private final ReentrantLock ticking = new ReentrantLock();
+    /**
+     * Set when {@link #stop()} is called from an animation step, the animations are cancelled when that tick ends.
+     */
+    private volatile boolean stopRequested;
+    private final AtomicInteger animationCount = new AtomicInteger();
+
+    private final LongAdder ticks = new LongAdder();
+    private final LongAdder totalTickNanos = new LongAdder();
+    private final LongAdder deferredSteps = new LongAdder();
+    private final LongAdder skippedTicks = new LongAdder();
+    private volatile long lastTickNanos;
+
+    private ExecutorService executor;
+    private BukkitTask timer;
+
+    /**
+     * @param plugin     the plugin that owns the timer.
+     * @param tickBudget the maximum time spent on starting animation steps in each tick.
+     * @param unit       the time unit of the tick budget.
+     * @param workers    the maximum number of threads that run the animation steps in each tick.
+     *                   The timer thread is counted as one of the workers.
+     */
+    public ParticleEngine(@NotNull Plugin plugin, long tickBudget, @NotNull TimeUnit unit, int workers) {
+        this.plugin = Objects.requireNonNull(plugin, "Plugin cannot be null");
+        if (tickBudget <= 0) throw new IllegalArgumentException("Tick budget must be positive: " + tickBudget);
+        if (workers < 1) throw new IllegalArgumentException("Worker count must be at least 1: " + workers);
+        this.tickBudget = unit.toNanos(tickBudget);
+        this.workers = workers;
+    }
+
+    /**
+     * Uses a 20ms tick budget and up to half the available processors.
+     */
+    public ParticleEngine(@NotNull Plugin plugin) {
+        this(plugin, 20, TimeUnit.MILLISECONDS, Math.max(1, Runtime.getRuntime().availableProcessors() / 2));
+    }
+
+    /**
+     * Starts the timer that ticks the animations.
+     * Animations can be scheduled before the engine is started.
+     */
+    public synchronized ParticleEngine start() {
+        if (timer != null) throw new IllegalStateException("Particle engine is already running");
+        if (workers > 1) {
+            int id = ENGINE_ID.incrementAndGet();
+            AtomicInteger threadId = new AtomicInteger();
+            executor = Executors.newFixedThreadPool(workers - 1, task -> {
+                Thread thread = new Thread(task, "XSeries Particle Engine #" + id + '-' + threadId.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+
+        timer = Bukkit.getScheduler().runTaskTimerAsynchronously(plugin, this::tick, 0L, 1L);
+        return this;
+    }
+
+    /**
+     * Stops the timer and cancels all the animations.
+     * If this is called from an animation step, the animations are cancelled when the current tick ends.
+     */
+    public void stop() {
+        synchronized (this) {
+            if (timer != null) {
+                timer.cancel();
+                timer = null;
+            }
+            if (executor != null) {
+                executor.shutdown();
+                executor = null;
+            }
+        }
+
+        // The tick that's running this step can't end until this returns.
+        if (STEPPING.get() == this) {
+            stopRequested = true;
+            return;
+        }
+
+        // The timer might still be finishing its last tick.
+        ticking.lock();
+        try {
+            cancelAll();
+        } finally {
+            ticking.unlock();
+        }
+    }
+
+    /**
+     * Must only be called while holding {@link #ticking}.
+     */
+    private void cancelAll() {
+        stopRequested = false;
+        Animation animation;
+        while ((animation = pending.poll()) != null) animation.cancel();
+        for (Animation active : this.active) active.cancel();
+        this.active = new ArrayList<>();
+        animationCount.set(0);
+    }
+
+    public synchronized boolean isRunning() {
+        return timer != null;
+    }
+
+    /**
+     * Schedules an animation that runs every tick until the step returns false or it's cancelled.
+     */
+    @NotNull
+    public Animation schedule(@NotNull BooleanSupplier step) {
+        Animation animation = new Animation(Objects.requireNonNull(step, "Animation step cannot be null"));
+        animationCount.incrementAndGet();
+        pending.add(animation);
+        return animation;
+    }
+
+    /**
+     * Schedules an animation that runs every tick until it's cancelled.
+     */
+    @NotNull
+    public Animation schedule(@NotNull Runnable step) {
+        Objects.requireNonNull(step, "Animation step cannot be null");
+        return schedule(() -> {
+            step.run();
+            return true;
+        });
+    }
+
+    /**
+     * Schedules multiple animations, such as the ones returned by
+     * {@link Particles#star(int, int, double, double, double, double, boolean, int, ParticleDisplay)}
+     */
+    @NotNull
+    public List<Animation> scheduleAll(@NotNull Collection<BooleanSupplier> steps) {
+        List<Animation> animations = new ArrayList<>(steps.size());
+        for (BooleanSupplier step : steps) animations.add(schedule(step));
+        return animations;
+    }
+
+    /**
+     * Runs a single tick, this is normally only called by the timer.
+     */
+    void tick() {
+        // The scheduler doesn't wait for the previous async execution to finish.
+        if (!ticking.tryLock()) {
+            skippedTicks.increment();
+            return;
+        }
+
+        try {
+            long start = System.nanoTime();
+            List<Animation> active = this.active;
+
+            Animation added;
+            while ((added = pending.poll()) != null) active.add(added);
+
+            int size = active.size();
+            if (size != 0) {
+                long deadline = start + tickBudget;
+                ExecutorService executor = this.executor;
+                int parallelism = executor == null ? 1 :
+                        Math.min(workers, (size + MIN_WORKER_ANIMATIONS - 1) / MIN_WORKER_ANIMATIONS);
+
+                if (parallelism <= 1) {
+                    runSlice(active, 0, 1, deadline);
+                } else {
+                    CountDownLatch latch = new CountDownLatch(parallelism - 1);
+                    int slice = 1;
+                    try {
+                        for (; slice < parallelism; slice++) {
+                            int finalSlice = slice;
+                            executor.execute(() -> {
+                                try {
+                                    runSlice(active, finalSlice, parallelism, deadline);
+                                } finally {
+                                    latch.countDown();
+                                }
+                            });
+                        }
+                    } catch (RejectedExecutionException ex) {
+                        // The engine was stopped while ticking, the slices that were already
+                        // submitted are still running, so the rest are run here instead.
+                        for (; slice < parallelism; slice++) {
+                            runSlice(active, slice, parallelism, deadline);
+                            latch.countDown();
+                        }
+                    }
+
+                    runSlice(active, 0, parallelism, deadline);
+                    awaitSlices(latch);
+                }
+
+                this.active = compact(active);
+            }
+
+            long elapsed = System.nanoTime() - start;
+            lastTickNanos = elapsed;
+            totalTickNanos.add(elapsed);
+            ticks.increment();
+        } finally {
+            if (stopRequested) cancelAll();
+            ticking.unlock();
+        }
+    }
+
+    /**
+     * The tick must not end while any slices are running, otherwise the next tick
+     * could run the same animations at the same time.
+     */
+    private static void awaitSlices(CountDownLatch latch) {
+        boolean interrupted = false;
+        while (true) {
+            try {
+                latch.await();
+                break;
+            } catch (InterruptedException ex) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) Thread.currentThread().interrupt();
+    }
+
+    private void runSlice(List<Animation> animations, int slice, int stride, long deadline) {
+        STEPPING.set(this);
+        try {
+            runSlice0(animations, slice, stride, deadline);
+        } finally {
+            STEPPING.remove();
+        }
+    }
+
+    private void runSlice0(List<Animation> animations, int slice, int stride, long deadline) {
+        for (int i = slice, size = animations.size(); i < size; i += stride) {
+            Animation animation = animations.get(i);
+            if (animation.cancelled) continue;
+
+            if (System.nanoTime() - deadline > 0) {
+                animation.deferred = true;
+                deferredSteps.increment();
+                continue;
+            }
+
+            animation.deferred = false;
+            try {
+                if (!animation.step.getAsBoolean()) animation.cancel();
+            } catch (Throwable ex) {
+                animation.cancel();
+                new IllegalStateException("Particle animation failed and was cancelled: " + animation.step, ex).printStackTrace();
+            }
+        }
+    }
+
+    /**
+     * Removes finished animations and moves the deferred ones to the front so they run first in the next tick.
+     */
+    private List<Animation> compact(List<Animation> animations) {
+        List<Animation> compacted = new ArrayList<>(animations.size());
+        int removed = 0;
+        for (Animation animation : animations) {
+            if (animation.cancelled) removed++;
+            else if (animation.deferred) compacted.add(animation);
+        }
+        for (Animation animation : animations) {
+            if (!animation.cancelled && !animation.deferred) compacted.add(animation);
+        }
+
+        if (removed != 0) animationCount.addAndGet(-removed);
+        return compacted;
+    }
+
+    /**
+     * @return the number of animations that are currently scheduled.
+     */
+    public int getActiveAnimations() {
+        return animationCount.get();
+    }
+
+    /**
+     * @return the time spent on the last tick in nanoseconds.
+     */
+    public long getLastTickNanos() {
+        return lastTickNanos;
+    }
+
+    /**
+     * @return the average time spent on each tick in nanoseconds.
+     */
+    public long getAverageTickNanos() {
+        long ticks = this.ticks.sum();
+        return ticks == 0 ? 0 : totalTickNanos.sum() / ticks;
+    }
+
+    /**
+     * @return the number of ticks that have completed.
+     */
+    public long getTicks() {
+        return ticks.sum();
+    }
+
+    /**
+     * @return the number of animation steps that were postponed to the next tick because the tick budget was exceeded.
+     */
+    public long getDeferredSteps() {
+        return deferredSteps.sum();
+    }
+
+    /**
+     * @return the number of ticks that were skipped because the previous tick was still running.
+     */
+    public long getSkippedTicks() {
+        return skippedTicks.sum();
+    }
+
+    /**
+     * A handle to a scheduled animation.
+     */
+    public static final class Animation {
+        private final BooleanSupplier step;
+        private volatile boolean cancelled;
+        /**
+         * Only accessed by the tick thread and the workers it waits for.
+         */
+        private boolean deferred;
+
+        private Animation(BooleanSupplier step) {
+            this.step = step;
+        }
+
+        /**
+         * Stops this animation. It'll be removed from the engine in the next tick.
+         */
+        public void cancel() {
+            cancelled = true;
+        }
+
+        /**
+         * @return true if this animation was cancelled or its step returned false.
+         */
+        public boolean isCancelled() {
+            return cancelled;
+        }
+    }
+}
@@ -0,0 +1,262 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025 Crypto Morin
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+ * PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE
+ * FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.cryptomorin.xseries.particles;
+
+import org.bukkit.Color;
+import org.bukkit.Particle;
+import org.jetbrains.annotations.NotNull;
+
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * The visible pixels of a rendered image stored in primitive arrays, instead of
+ * a map of coordinate arrays to colors. Every pixel also points to an entry of
+ * a color palette, so the dust options can be reused between all the pixels
+ * with the same color and between each time the image is displayed.
+ *
+ * @see Particles#renderParticleImage(BufferedImage, double)
+ * @see Particles#displayRenderedImage(ParticleImage, org.bukkit.Location, int, int, float)
+ * @since 13.3.0
+ */
+public final class ParticleImage {
+    /**
+     * Images with fewer pixels than this are rendered in the calling thread.
+     */
+    private static final int PARALLEL_THRESHOLD = 128 * 128;
+    /**
+     * The number of rows each fork/join task renders without splitting further.
+     */
+    private static final int ROWS_PER_TASK = 16;
+
+    /**
+     * xy pairs of each pixel relative to the center of the image.
+     */
+    private final float[] coordinates;
+    private final int[] colors;
+    private final int[] paletteIndices;
+    private final Color[] palette;
+    private volatile DustPalette dustPalette;
+
+    private ParticleImage(float[] coordinates, int[] colors) {
+        this.coordinates = coordinates;
+        this.colors = colors;
+        this.paletteIndices = new int[colors.length];
+
+        Map<Integer, Integer> indices = new HashMap<>();
+        for (int i = 0; i < colors.length; i++) {
+            Integer index = indices.get(colors[i]);
+            if (index == null) {
+                index = indices.size();
+                indices.put(colors[i], index);
+            }
+            paletteIndices[i] = index;
+        }
+
+        this.palette = new Color[indices.size()];
+        for (Map.Entry<Integer, Integer> entry : indices.entrySet()) {
+            palette[entry.getValue()] = Color.fromRGB(entry.getKey());
+        }
+    }
+
+    /**
+     * Renders every visible pixel of the image. Large images are rendered in parallel.
+     *
+     * @param image   the image to render.
+     * @param compact the distance between each pixel. Should be lower than 0.5 and higher than 0.1 The recommended value is 0.2
+     * @return the rendered image.
+     */
+    @NotNull
+    public static ParticleImage render(@NotNull BufferedImage image, double compact) {
+        int width = image.getWidth();
+        int height = image.getHeight();
+        boolean parallel = (long) width * height >= PARALLEL_THRESHOLD;
+        RenderTask task = new RenderTask(image, compact, parallel, 0, height);
+
+        Band band = parallel ? ForkJoinPool.commonPool().invoke(task) : task.compute();
+        return new ParticleImage(Arrays.copyOf(band.coordinates, band.size * 2), Arrays.copyOf(band.colors, band.size));
+    }
+
+    /**
+     * @return the number of visible pixels.
+     */
+    public int size() {
+        return colors.length;
+    }
+
+    public float getX(int pixel) {
+        return coordinates[pixel * 2];
+    }
+
+    public float getY(int pixel) {
+        return coordinates[pixel * 2 + 1];
+    }
+
+    /**
+     * @return the RGB color of the pixel without the alpha channel.
+     */
+    public int getRGB(int pixel) {
+        return colors[pixel];
+    }
+
+    /**
+     * @return the index of the pixel's color in {@link #getPalette()}
+     */
+    public int getPaletteIndex(int pixel) {
+        return paletteIndices[pixel];
+    }
+
+    /**
+     * @return a copy of all the unique colors of this image.
+     */
+    @NotNull
+    public Color[] getPalette() {
+        return palette.clone();
+    }
+
+    /**
+     * Gets the dust options of each {@link #getPalette() palette} color with the given size.
+     * The last palette is cached, so it's only created again if the size changes.
+     *
+     * @param size the size of the dust particles.
+     * @return the dust options indexed by {@link #getPaletteIndex(int)}, this array should not be modified.
+     */
+    @NotNull
+    Particle.DustOptions[] getDustPalette(float size) {
+        DustPalette dust = this.dustPalette;
+        if (dust != null && dust.size == size) return dust.options;
+
+        Particle.DustOptions[] options = new Particle.DustOptions[palette.length];
+        for (int i = 0; i < palette.length; i++) {
+            options[i] = new Particle.DustOptions(palette[i], size);
+        }
+
+        this.dustPalette = new DustPalette(size, options);
+        return options;
+    }
+
+    /**
+     * Converts this image to the format used by the old rendering methods.
+     */
+    @NotNull
+    public Map<double[], Color> toMap() {
+        Map<double[], Color> map = new LinkedHashMap<>(size());
+        for (int i = 0; i < colors.length; i++) {
+            map.put(new double[]{coordinates[i * 2], coordinates[i * 2 + 1]}, palette[paletteIndices[i]]);
+        }
+        return map;
+    }
+
+    private static final class DustPalette {
+        private final float size;
+        private final Particle.DustOptions[] options;
+
+        private DustPalette(float size, Particle.DustOptions[] options) {
+            this.size = size;
+            this.options = options;
+        }
+    }
+
+    /**
+     * The visible pixels of a group of rows.
+     */
+    private static final class Band {
+        private float[] coordinates;
+        private int[] colors;
+        private int size;
+
+        private Band(int capacity) {
+            this.coordinates = new float[capacity * 2];
+            this.colors = new int[capacity];
+        }
+
+        private void add(float x, float y, int color) {
+            int index = size++;
+            coordinates[index * 2] = x;
+            coordinates[index * 2 + 1] = y;
+            colors[index] = color;
+        }
+
+        private Band append(Band other) {
+            if (other.size == 0) return this;
+            if (size + other.size > colors.length) {
+                coordinates = Arrays.copyOf(coordinates, (size + other.size) * 2);
+                colors = Arrays.copyOf(colors, size + other.size);
+            }
+
+            System.arraycopy(other.coordinates, 0, coordinates, size * 2, other.size * 2);
+            System.arraycopy(other.colors, 0, colors, size, other.size);
+            size += other.size;
+            return this;
+        }
+    }
+
+    private static final class RenderTask extends RecursiveTask<Band> {
+        private final BufferedImage image;
+        private final double compact;
+        private final boolean parallel;
+        private final int fromRow, toRow;
+
+        private RenderTask(BufferedImage image, double compact, boolean parallel, int fromRow, int toRow) {
+            this.image = image;
+            this.compact = compact;
+            this.parallel = parallel;
+            this.fromRow = fromRow;
+            this.toRow = toRow;
+        }
+
+        @Override
+        protected Band compute() {
+            int rows = toRow - fromRow;
+            if (parallel && rows > ROWS_PER_TASK) {
+                int middle = fromRow + rows / 2;
+                RenderTask bottom = new RenderTask(image, compact, true, middle, toRow);
+                bottom.fork();
+                Band top = new RenderTask(image, compact, true, fromRow, middle).compute();
+                return top.append(bottom.join());
+            }
+
+            int width = image.getWidth();
+            double centerX = width / 2D;
+            double centerY = image.getHeight() / 2D;
+            int[] row = new int[width];
+            Band band = new Band(width * rows);
+
+            for (int y = fromRow; y < toRow; y++) {
+                image.getRGB(0, y, width, 1, row, 0, width);
+                for (int x = 0; x < width; x++) {
+                    int pixel = row[x];
+                    // Transparency
+                    if ((pixel >> 24) == 0x0) continue;
+                    band.add((float) ((x - centerX) * compact), (float) ((y - centerY) * compact), pixel & 0xFFFFFF);
+                }
+            }
+            return band;
+        }
+    }
+}
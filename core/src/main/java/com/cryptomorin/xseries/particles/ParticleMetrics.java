@@ -0,0 +1,240 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025 Crypto Morin
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+ * PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE
+ * FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.cryptomorin.xseries.particles;
+
+import org.bukkit.plugin.Plugin;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts how many particles are spawned, how many packets are sent and to how many viewers,
+ * and the time spent on calculating and spawning them, per {@link XParticle} and per plugin.
+ * Plugins are only known for displays that use {@link ParticleDisplay#withPlugin(Plugin)}.
+ * <pre>{@code
+ * ParticleMetrics.setEnabled(true);
+ * // Later
+ * ParticleMetrics.byPlugin().forEach((plugin, metrics) -> System.out.println(plugin + ": " + metrics));
+ * }</pre>
+ * Metrics are disabled by default, and there's no overhead other than checking a flag when they're disabled.
+ * <p>
+ * Packets are counted once for each viewer that receives them, so a point of a shape that's seen by
+ * 3 players counts as 3 packets whether it's part of a {@link ParticleDisplay#batch(java.util.function.Consumer) batch}
+ * or sent to the {@link ParticleDisplay#onlyVisibleTo(Collection) players} of a display directly.
+ * Particles that are broadcast to the world by Bukkit itself only count towards the spawned particles.
+ * <p>
+ * Viewers are only known for batched frames, which count the distinct players that received at least
+ * one packet of each frame. The packets of a batch are all counted for the display that started the batch.
+ *
+ * @since 13.3.0
+ */
+public final class ParticleMetrics {
+    /**
+     * The plugin name used for displays that don't have a plugin.
+     */
+    public static final String UNKNOWN_PLUGIN = "Unknown";
+
+    private static volatile boolean enabled;
+    private static final AtomicReferenceArray<Counters> BY_PARTICLE = new AtomicReferenceArray<>(XParticle.values().length);
+    private static final Map<String, Counters> BY_PLUGIN = new ConcurrentHashMap<>();
+
+    private ParticleMetrics() {}
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    public static void setEnabled(boolean enabled) {
+        ParticleMetrics.enabled = enabled;
+    }
+
+    /**
+     * Clears all the collected metrics.
+     */
+    public static void reset() {
+        for (int i = 0; i < BY_PARTICLE.length(); i++) BY_PARTICLE.set(i, null);
+        BY_PLUGIN.clear();
+    }
+
+    /**
+     * @return a snapshot of the metrics of each particle that was spawned at least once.
+     */
+    @NotNull
+    public static Map<XParticle, Snapshot> byParticle() {
+        XParticle[] particles = XParticle.values();
+        Map<XParticle, Snapshot> snapshot = new EnumMap<>(XParticle.class);
+        for (int i = 0; i < BY_PARTICLE.length(); i++) {
+            Counters counters = BY_PARTICLE.get(i);
+            if (counters != null) snapshot.put(particles[i], counters.snapshot());
+        }
+        return snapshot;
+    }
+
+    /**
+     * @return a snapshot of the metrics of each plugin name, including {@link #UNKNOWN_PLUGIN}
+     */
+    @NotNull
+    public static Map<String, Snapshot> byPlugin() {
+        Map<String, Snapshot> snapshot = new TreeMap<>();
+        for (Map.Entry<String, Counters> entry : BY_PLUGIN.entrySet()) {
+            snapshot.put(entry.getKey(), entry.getValue().snapshot());
+        }
+        return snapshot;
+    }
+
+    static void recordFinalize(XParticle particle, @Nullable Plugin plugin, long nanos) {
+        ofParticle(particle).finalizeNanos.add(nanos);
+        ofPlugin(plugin).finalizeNanos.add(nanos);
+    }
+
+    static void recordSpawn(XParticle particle, @Nullable Plugin plugin, int particles, int packets, long nanos) {
+        record(ofParticle(particle), particles, packets, nanos);
+        record(ofPlugin(plugin), particles, packets, nanos);
+    }
+
+    static void recordFlush(XParticle particle, @Nullable Plugin plugin, long packets, long viewers, long nanos) {
+        recordFlush(ofParticle(particle), packets, viewers, nanos);
+        recordFlush(ofPlugin(plugin), packets, viewers, nanos);
+    }
+
+    private static void recordFlush(Counters counters, long packets, long viewers, long nanos) {
+        counters.frames.increment();
+        counters.packets.add(packets);
+        counters.viewers.add(viewers);
+        counters.flushNanos.add(nanos);
+    }
+
+    /**
+     * @param packets the number of viewers that the particle was sent to directly, which is one packet for each.
+     */
+    private static void record(Counters counters, int particles, int packets, long nanos) {
+        counters.particles.add(particles);
+        counters.spawnNanos.add(nanos);
+        if (packets != 0) counters.packets.add(packets);
+    }
+
+    private static Counters ofParticle(XParticle particle) {
+        int index = particle.ordinal();
+        Counters counters = BY_PARTICLE.get(index);
+        if (counters == null) {
+            counters = new Counters();
+            if (!BY_PARTICLE.compareAndSet(index, null, counters)) counters = BY_PARTICLE.get(index);
+        }
+        return counters;
+    }
+
+    private static Counters ofPlugin(@Nullable Plugin plugin) {
+        String name = plugin == null ? UNKNOWN_PLUGIN : plugin.getName();
+        Counters counters = BY_PLUGIN.get(name);
+        return counters != null ? counters : BY_PLUGIN.computeIfAbsent(name, k -> new Counters());
+    }
+
+    private static final class Counters {
+        private final LongAdder particles = new LongAdder(), packets = new LongAdder(),
+                frames = new LongAdder(), viewers = new LongAdder(),
+                finalizeNanos = new LongAdder(), spawnNanos = new LongAdder(), flushNanos = new LongAdder();
+
+        private Snapshot snapshot() {
+            return new Snapshot(particles.sum(), packets.sum(), frames.sum(), viewers.sum(),
+                    finalizeNanos.sum(), spawnNanos.sum(), flushNanos.sum());
+        }
+    }
+
+    /**
+     * The metrics at the time that they were requested.
+     */
+    public static final class Snapshot {
+        private final long particles, packets, frames, viewers, finalizeNanos, spawnNanos, flushNanos;
+
+        private Snapshot(long particles, long packets, long frames, long viewers,
+                         long finalizeNanos, long spawnNanos, long flushNanos) {
+            this.particles = particles;
+            this.packets = packets;
+            this.frames = frames;
+            this.viewers = viewers;
+            this.finalizeNanos = finalizeNanos;
+            this.spawnNanos = spawnNanos;
+            this.flushNanos = flushNanos;
+        }
+
+        /**
+         * @return the number of particles spawned, which includes the count of each spawn.
+         */
+        public long getParticles() {
+            return particles;
+        }
+
+        /**
+         * @return the number of particle packets sent, counted once for each viewer that received them.
+         */
+        public long getPackets() {
+            return packets;
+        }
+
+        /**
+         * @return the number of batched frames that were sent.
+         */
+        public long getFrames() {
+            return frames;
+        }
+
+        /**
+         * @return the sum of the distinct viewers that received at least one packet of each batched frame.
+         */
+        public long getViewers() {
+            return viewers;
+        }
+
+        /**
+         * @return the time spent on {@link ParticleDisplay#finalizeLocation(org.bukkit.util.Vector)}
+         */
+        public long getFinalizeNanos() {
+            return finalizeNanos;
+        }
+
+        /**
+         * @return the time spent on spawning particles or adding them to a batch.
+         */
+        public long getSpawnNanos() {
+            return spawnNanos;
+        }
+
+        /**
+         * @return the time spent on sending the packets of batched frames.
+         */
+        public long getFlushNanos() {
+            return flushNanos;
+        }
+
+        @Override
+        public String toString() {
+            return "Snapshot{particles=" + particles + ", packets=" + packets + ", frames=" + frames +
+                    ", viewers=" + viewers + ", finalizeNanos=" + finalizeNanos + ", spawnNanos=" + spawnNanos +
+                    ", flushNanos=" + flushNanos + '}';
+        }
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025 Crypto Morin
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+ * PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE
+ * FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.cryptomorin.xseries.particles;
+
+import org.bukkit.Location;
+import org.bukkit.configuration.ConfigurationSection;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Objects;
+
+/**
+ * A {@link ParticleDisplay} that was parsed once and can create new displays cheaply.
+ * {@link ParticleDisplay#fromConfig(ConfigurationSection)} parses the particle name, offsets,
+ * colors and rotations again every time it's called, so if the same config is used every time
+ * an event is triggered, it should be compiled once instead:
+ * <pre>{@code
+ * // On load
+ * ParticleProfile profile = ParticleProfile.compile(config.getConfigurationSection("particle"));
+ *
+ * // On trigger
+ * Particles.circle(2, 20, profile.newDisplay(player.getLocation()));
+ * }</pre>
+ * The particle, its data and the rotation quaternions are resolved when the profile is compiled.
+ * A profile can't be changed after it's compiled, the displays it creates are independent copies.
+ *
+ * @since 13.3.0
+ */
+public final class ParticleProfile {
+    private final ParticleDisplay template;
+
+    private ParticleProfile(ParticleDisplay template) {
+        this.template = template;
+        template.precomputeRotations();
+    }
+
+    /**
+     * Compiles the particle settings of a config section.
+     *
+     * @see ParticleDisplay#fromConfig(ConfigurationSection)
+     */
+    @NotNull
+    public static ParticleProfile compile(@NotNull ConfigurationSection config) {
+        return new ParticleProfile(ParticleDisplay.fromConfig(config));
+    }
+
+    /**
+     * Compiles the current settings of a display. Later changes to the given display don't affect this profile.
+     */
+    @NotNull
+    public static ParticleProfile of(@NotNull ParticleDisplay display) {
+        Objects.requireNonNull(display, "Cannot compile a null particle display");
+        return new ParticleProfile(display.copyFromProfile());
+    }
+
+    /**
+     * @return a new display with the settings of this profile.
+     */
+    @NotNull
+    public ParticleDisplay newDisplay() {
+        return template.copyFromProfile();
+    }
+
+    /**
+     * @param location the location of the new display.
+     * @return a new display with the settings of this profile at the given location.
+     */
+    @NotNull
+    public ParticleDisplay newDisplay(@Nullable Location location) {
+        return template.copyFromProfile().withLocation(location);
+    }
+
+    @NotNull
+    public XParticle getParticle() {
+        return template.getParticle();
+    }
+
+    @Nullable
+    public ParticleDisplay.ParticleData getData() {
+        return template.getData();
+    }
+
+    @Override
+    public String toString() {
+        return "ParticleProfile{" + template + '}';
+    }
+}
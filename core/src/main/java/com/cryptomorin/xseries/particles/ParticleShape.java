@@ -0,0 +1,311 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025 Crypto Morin
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+ * PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE
+ * FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.cryptomorin.xseries.particles;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Objects;
+
+/**
+ * The precomputed local points of a shape that can be spawned at any location and rotation
+ * of a {@link ParticleDisplay}, so shapes that are drawn over and over again don't need to
+ * compute the same trigonometric functions every time.
+ * <pre>{@code
+ * // Built once
+ * ParticleShape sphere = ParticleShape.sphere(2, 20);
+ * // Every tick
+ * sphere.spawn(display.withLocation(player.getLocation()));
+ * }</pre>
+ * The shapes built by the static methods here are also used by the same methods in {@link Particles},
+ * and they're kept in a small cache that's bounded by the total number of points, so the same shape
+ * drawn with the same parameters is only computed once. Shapes that are kept by the caller are not limited by this.
+ * Directional displays are not supported since their direction changes for each point.
+ *
+ * @since 13.3.0
+ */
+public final class ParticleShape {
+    /**
+     * The maximum number of points of all the shapes in {@link #CACHE}, about 1.5 MB.
+     * Shapes with more points than this are never cached.
+     */
+    private static final int MAX_CACHED_POINTS = 64 * 1024;
+    /**
+     * Least recently used first. Guarded by its own monitor along with {@link #cachedPoints}
+     */
+    private static final LinkedHashMap<Key, ParticleShape> CACHE = new LinkedHashMap<>(16, 0.75f, true);
+    private static int cachedPoints;
+
+    private static final int CIRCLE = 0, SPHERE = 1, RING = 2, POLYGON = 3;
+
+    /**
+     * xyz triplets of all the points.
+     */
+    final double[] points;
+
+    /**
+     * @param points xyz triplets of all the points, the array is not copied.
+     */
+    public ParticleShape(@NotNull double[] points) {
+        Objects.requireNonNull(points, "Shape points cannot be null");
+        if (points.length % 3 != 0)
+            throw new IllegalArgumentException("Shape points must be xyz triplets: " + points.length);
+        this.points = points;
+    }
+
+    /**
+     * @return the number of points in this shape.
+     */
+    public int size() {
+        return points.length / 3;
+    }
+
+    /**
+     * @return a copy of xyz triplets of all the points.
+     */
+    @NotNull
+    public double[] getPoints() {
+        return points.clone();
+    }
+
+    /**
+     * Spawns all the points of this shape relative to the display's location and rotations.
+     */
+    public void spawn(@NotNull ParticleDisplay display) {
+        double[] points = this.points;
+        for (int i = 0; i < points.length; i += 3) {
+            display.spawn(points[i], points[i + 1], points[i + 2]);
+        }
+    }
+
+    /**
+     * @see Particles#circle(double, double, double, double, double, ParticleDisplay)
+     */
+    @NotNull
+    public static ParticleShape circle(double radius, double radius2, double extension, double rate, double limit) {
+        Key key = new Key(CIRCLE, radius, radius2, extension, rate, limit);
+        ParticleShape cached = cached(key);
+        return cached != null ? cached : cache(key, computeCircle(radius, radius2, extension, rate, limit));
+    }
+
+    private static ParticleShape computeCircle(double radius, double radius2, double extension, double rate, double limit) {
+        PointBuilder points = new PointBuilder();
+        // 180 degrees = PI
+        // We need a full circle, 360 so we need two pies!
+        // https://www.spigotmc.org/threads/176792/
+        // cos and sin methods only accept radians.
+        // Converting degrees to radians is not resource intensive. It's a really simple operation.
+        // However we can skip the conversion by using radians in the first place.
+        double rateDiv = Math.PI / Math.abs(rate);
+
+        // If no limit is specified do a full loop.
+        if (limit == 0) limit = Particles.PII;
+        else if (limit == -1) limit = Particles.PII / Math.abs(extension);
+        // If the extension changes (isn't 1), the wave might not do a full
+        // loop anymore. So by simply dividing PI from the extension you can get the limit for a full loop.
+        // By full loop it means: sin(bx) {0 < x < PI} if b (the extension) is equal to 1
+        // Using period => T = 2PI/|b|
+
+        for (double theta = 0; theta <= limit; theta += rateDiv) {
+            // In order to curve our straight line in the loop, we need to
+            // use cos and sin. It doesn't matter, you can get x as sin and z as cos.
+            // But you'll get weird results if you use si+n or cos for both or using tan or cot.
+            points.add(radius * Math.cos(extension * theta), 0, radius2 * Math.sin(extension * theta));
+        }
+        return points.build();
+    }
+
+    /**
+     * @see Particles#sphere(double, double, ParticleDisplay)
+     */
+    @NotNull
+    public static ParticleShape sphere(double radius, double rate) {
+        Key key = new Key(SPHERE, radius, rate, 0, 0, 0);
+        ParticleShape cached = cached(key);
+        return cached != null ? cached : cache(key, computeSphere(radius, rate));
+    }
+
+    private static ParticleShape computeSphere(double radius, double rate) {
+        PointBuilder points = new PointBuilder();
+        double rateDiv = Math.PI / rate;
+
+        // To make a sphere we're going to generate multiple circles
+        // next to each other.
+        for (double phi = 0; phi <= Math.PI; phi += rateDiv) {
+            double y1 = radius * Math.cos(phi);
+            double y2 = radius * Math.sin(phi);
+
+            for (double theta = 0; theta <= Particles.PII; theta += rateDiv) {
+                points.add(Math.cos(theta) * y2, y1, Math.sin(theta) * y2);
+            }
+        }
+        return points.build();
+    }
+
+    /**
+     * @see Particles#ring(double, double, double, ParticleDisplay)
+     */
+    @NotNull
+    public static ParticleShape ring(double rate, double radius, double tubeRadius) {
+        Key key = new Key(RING, rate, radius, tubeRadius, 0, 0);
+        ParticleShape cached = cached(key);
+        return cached != null ? cached : cache(key, computeRing(rate, radius, tubeRadius));
+    }
+
+    private static ParticleShape computeRing(double rate, double radius, double tubeRadius) {
+        PointBuilder points = new PointBuilder();
+        double rateDiv = Math.PI / rate;
+        double tubeDiv = Math.PI / tubeRadius;
+
+        // Use circles to build the ring.
+        for (double theta = 0; theta <= Particles.PII; theta += rateDiv) {
+            double cos = Math.cos(theta);
+            double sin = Math.sin(theta);
+
+            for (double phi = 0; phi <= Particles.PII; phi += tubeDiv) {
+                double finalRadius = radius + (tubeRadius * Math.cos(phi));
+                points.add(finalRadius * cos, finalRadius * sin, tubeRadius * Math.sin(phi));
+            }
+        }
+        return points.build();
+    }
+
+    /**
+     * @see Particles#polygon(int, int, double, double, double, ParticleDisplay)
+     */
+    @NotNull
+    public static ParticleShape polygon(int points, int connection, double size, double rate, double extend) {
+        Key key = new Key(POLYGON, points, connection, size, rate, extend);
+        ParticleShape cached = cached(key);
+        return cached != null ? cached : cache(key, computePolygon(points, connection, size, rate, extend));
+    }
+
+    private static ParticleShape computePolygon(int points, int connection, double size, double rate, double extend) {
+        PointBuilder builder = new PointBuilder();
+        for (int point = 0; point < points; point++) {
+            // Generate our points in a circle shaped area.
+            double angle = Math.toRadians(360D / points * point);
+            // Our next point to connect to the previous one.
+            // So if you don't want them to connect you can just skip the rest.
+            double nextAngle = Math.toRadians(360D / points * (point + connection));
+
+            // Size is basically the circle's radius.
+            // Get our X and Z position based on the angle of the point.
+            double x = Math.cos(angle) * size;
+            double z = Math.sin(angle) * size;
+
+            double x2 = Math.cos(nextAngle) * size;
+            double z2 = Math.sin(nextAngle) * size;
+
+            // The distance between one point to another.
+            double deltaX = x2 - x;
+            double deltaZ = z2 - z;
+
+            // Connect the points.
+            // Extend value is a little complicated Idk how to explain it.
+            // Might be related: https://en.wikipedia.org/wiki/Hypercube
+            for (double pos = 0; pos < 1 + extend; pos += rate) {
+                builder.add(x + (deltaX * pos), 0, z + (deltaZ * pos));
+            }
+        }
+        return builder.build();
+    }
+
+    private static ParticleShape cached(Key key) {
+        synchronized (CACHE) {
+            return CACHE.get(key);
+        }
+    }
+
+    private static ParticleShape cache(Key key, ParticleShape shape) {
+        int points = shape.size();
+        if (points > MAX_CACHED_POINTS) return shape;
+
+        synchronized (CACHE) {
+            ParticleShape previous = CACHE.put(key, shape);
+            if (previous != null) cachedPoints -= previous.size();
+            cachedPoints += points;
+
+            Iterator<ParticleShape> eldest = CACHE.values().iterator();
+            while (cachedPoints > MAX_CACHED_POINTS) {
+                cachedPoints -= eldest.next().size();
+                eldest.remove();
+            }
+        }
+        return shape;
+    }
+
+    private static final class Key {
+        private final int shape;
+        private final double a, b, c, d, e;
+
+        private Key(int shape, double a, double b, double c, double d, double e) {
+            this.shape = shape;
+            this.a = a;
+            this.b = b;
+            this.c = c;
+            this.d = d;
+            this.e = e;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) return true;
+            if (!(obj instanceof Key)) return false;
+            Key other = (Key) obj;
+            return shape == other.shape &&
+                    Double.compare(a, other.a) == 0 && Double.compare(b, other.b) == 0 &&
+                    Double.compare(c, other.c) == 0 && Double.compare(d, other.d) == 0 &&
+                    Double.compare(e, other.e) == 0;
+        }
+
+        @Override
+        public int hashCode() {
+            int hash = shape;
+            hash = 31 * hash + Double.hashCode(a);
+            hash = 31 * hash + Double.hashCode(b);
+            hash = 31 * hash + Double.hashCode(c);
+            hash = 31 * hash + Double.hashCode(d);
+            hash = 31 * hash + Double.hashCode(e);
+            return hash;
+        }
+    }
+
+    private static final class PointBuilder {
+        private double[] points = new double[3 * 64];
+        private int size;
+
+        private void add(double x, double y, double z) {
+            if (size + 3 > points.length) points = Arrays.copyOf(points, points.length << 1);
+            points[size++] = x;
+            points[size++] = y;
+            points[size++] = z;
+        }
+
+        private ParticleShape build() {
+            return new ParticleShape(Arrays.copyOf(points, size));
+        }
+    }
+}
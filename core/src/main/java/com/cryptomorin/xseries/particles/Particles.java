@@ -86,6 +86,8 @@ import java.util.function.Supplier;
  * to either use {@link CompletableFuture#runAsync(Runnable)} or
  * {@link BukkitRunnable#runTaskTimerAsynchronously(Plugin, long, long)} for
  * smoothly animated shapes.
+ * The methods that take a {@link Plugin} start a separate task for each animation,
+ * if you're running a lot of animations at once, use {@link ParticleEngine} instead.
  * For huge animations you can use splittable tasks.
  * https://www.spigotmc.org/threads/409003/
  * By "huge", the algorithm used to generate locations is considered. You should not spawn
@@ -270,39 +272,24 @@ public final class Particles {
      * @see #eye(double, double, double, double, ParticleDisplay)
      */
     public static void circle(double radius, double radius2, double extension, double rate, double limit, ParticleDisplay display) {
-        // 180 degrees = PI
-        // We need a full circle, 360 so we need two pies!
-        // https://www.spigotmc.org/threads/176792/
-        // cos and sin methods only accept radians.
-        // Converting degrees to radians is not resource intensive. It's a really simple operation.
-        // However we can skip the conversion by using radians in the first place.
-        double rateDiv = Math.PI / Math.abs(rate);
-
-        // If no limit is specified do a full loop.
-        if (limit == 0) limit = PII;
-        else if (limit == -1) limit = PII / Math.abs(extension);
-        // If the extension changes (isn't 1), the wave might not do a full
-        // loop anymore. So by simply dividing PI from the extension you can get the limit for a full loop.
-        // By full loop it means: sin(bx) {0 < x < PI} if b (the extension) is equal to 1
-        // Using period => T = 2PI/|b|
-
-        for (double theta = 0; theta <= limit; theta += rateDiv) {
-            // In order to curve our straight line in the loop, we need to
-            // use cos and sin. It doesn't matter, you can get x as sin and z as cos.
-            // But you'll get weird results if you use si+n or cos for both or using tan or cot.
-            double x = radius * Math.cos(extension * theta);
-            double z = radius2 * Math.sin(extension * theta);
-
-            if (display.isDirectional()) {
-                // We're going to get the angle in these two coordinates.
-                // Then we can spread each particle in the right angle.
-                double phi = Math.atan2(z, x);
-                double directionX = Math.cos(extension * phi);
-                double directionZ = Math.sin(extension * phi);
-
-                display.particleDirection(directionX, display.getOffset().getY(), directionZ);
-            }
+        ParticleShape shape = ParticleShape.circle(radius, radius2, extension, rate, limit);
+        if (!display.isDirectional()) {
+            shape.spawn(display);
+            return;
+        }
+
+        double[] points = shape.points;
+        for (int i = 0; i < points.length; i += 3) {
+            double x = points[i];
+            double z = points[i + 2];
 
+            // We're going to get the angle in these two coordinates.
+            // Then we can spread each particle in the right angle.
+            double phi = Math.atan2(z, x);
+            double directionX = Math.cos(extension * phi);
+            double directionZ = Math.sin(extension * phi);
+
+            display.particleDirection(directionX, display.getOffset().getY(), directionZ);
             display.spawn(x, 0, z);
         }
     }
@@ -1224,34 +1211,30 @@ public final class Particles {
      * @since 1.0.0
      */
     public static void sphere(double radius, double rate, ParticleDisplay display) {
-        // Cache
-        double rateDiv = Math.PI / rate;
-
-        // To make a sphere we're going to generate multiple circles
-        // next to each other.
-        for (double phi = 0; phi <= Math.PI; phi += rateDiv) {
-            // Cache
-            double y1 = radius * Math.cos(phi);
-            double y2 = radius * Math.sin(phi);
-
-            for (double theta = 0; theta <= PII; theta += rateDiv) {
-                double x = Math.cos(theta) * y2;
-                double z = Math.sin(theta) * y2;
-
-                if (display.isDirectional()) {
-                    // We're going to do the same thing from spreading circle.
-                    // Since this is a 3D shape we'll need to get the y value as well.
-                    // I'm not sure if this is the right way to do it.
-                    double omega = Math.atan2(z, x);
-                    double directionX = Math.cos(omega);
-                    double directionY = Math.sin(Math.atan2(y2, y1));
-                    double directionZ = Math.sin(omega);
-
-                    display.particleDirection(directionX, directionY, directionZ);
-                }
+        ParticleShape shape = ParticleShape.sphere(radius, rate);
+        if (!display.isDirectional()) {
+            shape.spawn(display);
+            return;
+        }
 
-                display.spawn(x, y1, z);
-            }
+        double[] points = shape.points;
+        for (int i = 0; i < points.length; i += 3) {
+            double x = points[i];
+            double y = points[i + 1];
+            double z = points[i + 2];
+            // The radius of this point's circle, it has the same sign as the sphere's radius.
+            double circleRadius = Math.copySign(Math.sqrt(x * x + z * z), radius);
+
+            // We're going to do the same thing from spreading circle.
+            // Since this is a 3D shape we'll need to get the y value as well.
+            // I'm not sure if this is the right way to do it.
+            double omega = Math.atan2(z, x);
+            double directionX = Math.cos(omega);
+            double directionY = Math.sin(Math.atan2(circleRadius, y));
+            double directionZ = Math.sin(omega);
+
+            display.particleDirection(directionX, directionY, directionZ);
+            display.spawn(x, y, z);
         }
     }
 
@@ -1303,23 +1286,7 @@ public final class Particles {
      * @since 1.0.0
      */
     public static void ring(double rate, double radius, double tubeRadius, ParticleDisplay display) {
-        double rateDiv = Math.PI / rate;
-        double tubeDiv = Math.PI / tubeRadius;
-
-        // Use circles to build the ring.
-        for (double theta = 0; theta <= PII; theta += rateDiv) {
-            double cos = Math.cos(theta);
-            double sin = Math.sin(theta);
-
-            for (double phi = 0; phi <= PII; phi += tubeDiv) {
-                double finalRadius = radius + (tubeRadius * Math.cos(phi));
-                double x = finalRadius * cos;
-                double y = finalRadius * sin;
-                double z = tubeRadius * Math.sin(phi);
-
-                display.spawn(x, y, z);
-            }
-        }
+        ParticleShape.ring(rate, radius, tubeRadius).spawn(display);
     }
 
     /**
@@ -2301,24 +2268,17 @@ public final class Particles {
      * @since 4.0.0
      */
     public static void mandelbrot(double size, double zoom, double rate, double x0, double y0, int color, ParticleDisplay display) {
-        for (double y = -size; y < size; y += rate) {
-            for (double x = -size; x < size; x += rate) {
-                double zy = 0;
-                double zx = 0;
-                double cX = (x - x0) / zoom;
-                double cY = (y - y0) / zoom;
-
-                int iteration = color; // Max iterations
-                while (zx * zx + zy * zy <= 4 && iteration > 0) {
-                    double xtemp = zx * zx - zy * zy + cX;
-                    zy = 2 * zx * zy + cY; // Changing 2 to 1 or -1 can give interesting results.
-                    zx = xtemp;
-                    iteration--;
-                }
-
-                if (iteration != 0) continue;
+        // The grid is computed in parallel and cached, so only the points need to be spawned here.
+        FractalGrid grid = FractalGrid.mandelbrot(size, zoom, rate, x0, y0, color);
+        double[] ys = grid.rows, xs = grid.columns;
+        int[] iterations = grid.iterations;
+
+        for (int row = 0, index = 0; row < ys.length; row++) {
+            double y = ys[row];
+            for (int column = 0; column < xs.length; column++, index++) {
+                if (iterations[index] != 0) continue;
                 // Color color = new Color(iteration | (iteration << 8));
-                display.spawn(x, y, 0);
+                display.spawn(xs[column], y, 0);
             }
         }
     }
@@ -2337,25 +2297,23 @@ public final class Particles {
      * @since 4.0.0
      */
     public static void julia(double size, double zoom, int colorScheme, double moveX, double moveY, ParticleDisplay display) {
-        double cx = -0.7;
-        double cy = 0.27015;
-
-        for (double x = -size; x < size; x += 0.1) {
-            for (double y = -size; y < size; y += 0.1) {
-                double zx = 1.5 * (size - size / 2) / (0.5 * zoom * size) + moveX;
-                double zy = (y - size / 2) / (0.5 * zoom * size) + moveY;
-
-                int i = colorScheme;
-                while (zx * zx + zy * zy < 4 && i > 0) {
-                    double xtemp = zx * zx - zy * zy + cx;// Math.pow((zx * zx + zy * zy), (n / 2)) * (Math.cos(n * Math.atan2(zy, zx))) + cx;
-                    zy = 2 * zx * zy + cy; // Math.pow((zx * zx + zy * zy), (n / 2)) * Math.sin(n * Math.atan2(zy, zx)) + cy;
-                    zx = xtemp;
-                    i--;
+        // The grid is computed in parallel and cached, so only the points need to be spawned here.
+        FractalGrid grid = FractalGrid.julia(size, zoom, colorScheme, moveX, moveY);
+        double[] xs = grid.rows, ys = grid.columns;
+        int[] iterations = grid.iterations;
+
+        int lastIteration = -1;
+        for (int row = 0, index = 0; row < xs.length; row++) {
+            double x = xs[row];
+            for (int column = 0; column < ys.length; column++, index++) {
+                int i = iterations[index];
+                // Neighboring points usually escape at the same time.
+                if (i != lastIteration) {
+                    display.withColor(new java.awt.Color((i << 21) + (i << 10) + i * 8), 0.8f);
+                    lastIteration = i;
                 }
-                java.awt.Color color = new java.awt.Color((i << 21) + (i << 10) + i * 8);
 
-                display.withColor(color, 0.8f)
-                        .spawn(x, y, 0);
+                display.spawn(x, ys[column], 0);
             }
         }
     }
@@ -2515,34 +2473,7 @@ public final class Particles {
      * @since 1.0.0
      */
     public static void polygon(int points, int connection, double size, double rate, double extend, ParticleDisplay display) {
-        for (int point = 0; point < points; point++) {
-            // Generate our points in a circle shaped area.
-            double angle = Math.toRadians(360D / points * point);
-            // Our next point to connect to the previous one.
-            // So if you don't want them to connect you can just skip the rest.
-            double nextAngle = Math.toRadians(360D / points * (point + connection));
-
-            // Size is basically the circle's radius.
-            // Get our X and Z position based on the angle of the point.
-            double x = Math.cos(angle) * size;
-            double z = Math.sin(angle) * size;
-
-            double x2 = Math.cos(nextAngle) * size;
-            double z2 = Math.sin(nextAngle) * size;
-
-            // The distance between one point to another.
-            double deltaX = x2 - x;
-            double deltaZ = z2 - z;
-
-            // Connect the points.
-            // Extend value is a little complicated Idk how to explain it.
-            // Might be related: https://en.wikipedia.org/wiki/Hypercube
-            for (double pos = 0; pos < 1 + extend; pos += rate) {
-                double x1 = x + (deltaX * pos);
-                double z1 = z + (deltaZ * pos);
-                display.spawn(x1, 0, z1);
-            }
-        }
+        ParticleShape.polygon(points, connection, size, rate, extend).spawn(display);
     }
 
     /**
@@ -2746,11 +2677,40 @@ public final class Particles {
      * @param compact       the pixel compact of the image.
      * @return the rendered particle locations.
      * @since 1.0.0
+     * @deprecated use {@link #renderParticleImage(Path, int, int, double)}
      */
+    @Deprecated
     public static CompletableFuture<Map<double[], Color>> renderImage(Path path, int resizedWidth, int resizedHeight, double compact) {
         return getScaledImage(path, resizedWidth, resizedHeight).thenCompose((image) -> renderImage(image, resizedWidth, resizedHeight, compact));
     }
 
+    /**
+     * Renders a resized image.
+     *
+     * @param path          the path of the image.
+     * @param resizedWidth  the resizing width.
+     * @param resizedHeight the resizing height.
+     * @param compact       the pixel compact of the image.
+     * @return the rendered image or null if the image doesn't exist.
+     * @since 13.3.0
+     */
+    public static CompletableFuture<ParticleImage> renderParticleImage(Path path, int resizedWidth, int resizedHeight, double compact) {
+        return getScaledImage(path, resizedWidth, resizedHeight).thenApply((image) -> image == null ? null : ParticleImage.render(image, compact));
+    }
+
+    /**
+     * Renders every visible pixel of the image.
+     * Large images are rendered in parallel.
+     *
+     * @param image   the image to render.
+     * @param compact particles compact value. Should be lower than 0.5 and higher than 0.1 The recommended value is 0.2
+     * @return the rendered image.
+     * @since 13.3.0
+     */
+    public static CompletableFuture<ParticleImage> renderParticleImage(BufferedImage image, double compact) {
+        return CompletableFuture.supplyAsync(() -> image == null ? null : ParticleImage.render(image, compact));
+    }
+
     /**
      * Renders every pixel of the image and saves the location and
      * the particle colors to a map.
@@ -2761,41 +2721,12 @@ public final class Particles {
      * @param compact       particles compact value. Should be lower than 0.5 and higher than 0.1 The recommended value is 0.2
      * @return a rendered map of an image.
      * @since 1.0.0
+     * @deprecated use {@link #renderParticleImage(BufferedImage, double)}
      */
+    @Deprecated
     @SuppressWarnings("unused")
     public static CompletableFuture<Map<double[], Color>> renderImage(BufferedImage image, int resizedWidth, int resizedHeight, double compact) {
-        return CompletableFuture.supplyAsync(() -> {
-            if (image == null) return null;
-
-            int width = image.getWidth();
-            int height = image.getHeight();
-            double centerX = width / 2D;
-            double centerY = height / 2D;
-
-            Map<double[], Color> rendered = new HashMap<>();
-            for (int y = 0; y < height; y++) {
-                for (int x = 0; x < width; x++) {
-                    int pixel = image.getRGB(x, y);
-
-                    // Transparency
-                    if ((pixel >> 24) == 0x0) continue;
-                    // 0 - 255
-                    // if ((pixel & 0xff000000) >>> 24 == 0) continue;
-                    // 0.0 - 1.0
-                    // if (pixel == java.awt.Color.TRANSLUCENT) continue;
-
-                    java.awt.Color color = new java.awt.Color(pixel);
-                    int r = color.getRed();
-                    int g = color.getGreen();
-                    int b = color.getBlue();
-
-                    double[] coords = {(x - centerX) * compact, (y - centerY) * compact};
-                    Color bukkitColor = Color.fromRGB(r, g, b);
-                    rendered.put(coords, bukkitColor);
-                }
-            }
-            return rendered;
-        });
+        return renderParticleImage(image, compact).thenApply((rendered) -> rendered == null ? null : rendered.toMap());
     }
 
     /**
@@ -2809,7 +2740,9 @@ public final class Particles {
      * @param size     the size of the particle. Recommended amount is 0.8
      * @return the async bukkit task displaying the image.
      * @since 1.0.0
+     * @deprecated use {@link #displayRenderedImage(ParticleImage, Callable, int, int, int, float)}
      */
+    @Deprecated
     public static BooleanSupplier displayRenderedImage(Map<double[], Color> render, Callable<Location> location,
                                                        int repeat, int quality, int speed, float size) {
         return new BooleanSupplier() {
@@ -2848,7 +2781,9 @@ public final class Particles {
      * @param size     the size of the particle. Recommended amount is 0.8
      * @return the async bukkit task displaying the image.
      * @since 1.0.0
+     * @deprecated use {@link #displayRenderedImage(Plugin, ParticleImage, Callable, int, long, int, int, float)}
      */
+    @Deprecated
     public static BukkitTask displayRenderedImage(Plugin plugin, Map<double[], Color> render, Callable<Location> location,
                                                   int repeat, long period, int quality, int speed, float size) {
         BooleanSupplier displayRenderedImage = displayRenderedImage(render, location, repeat, quality, speed, size);
@@ -2869,18 +2804,13 @@ public final class Particles {
      * @param speed    the speed is exactly the same value as the speed of particles. Recommended amount is 0
      * @param size     the size of the particle. Recommended amount is 0.8
      * @since 1.0.0
+     * @deprecated use {@link #displayRenderedImage(ParticleImage, Location, int, int, float)}
      */
+    @Deprecated
     @SuppressWarnings("ConstantConditions")
     public static void displayRenderedImage(Map<double[], Color> render, Location location, int quality, int speed, float size) {
         World world = location.getWorld();
-
-        BlockFace facing;
-        double rotation = location.getYaw(); // The rotation axis.
-        if (rotation >= 135 || rotation < -135) facing = BlockFace.NORTH;
-        else if (rotation >= -135 && rotation < -45) facing = BlockFace.EAST;
-        else if (rotation >= -45 && rotation < 45) facing = BlockFace.SOUTH;
-        else if (rotation >= 45 && rotation < 135) facing = BlockFace.WEST;
-        else throw new IllegalArgumentException("Unknown rotation yaw: " + rotation);
+        BlockFace facing = getImageFacing(location);
 
         for (Map.Entry<double[], Color> pixel : render.entrySet()) {
             Particle.DustOptions data = new Particle.DustOptions(pixel.getValue(), size);
@@ -2918,6 +2848,130 @@ public final class Particles {
         }
     }
 
+    /**
+     * Display a rendered image repeatedly.
+     *
+     * @param render   the rendered image.
+     * @param location the dynamic location to display the image at.
+     * @param repeat   amount of times to repeat displaying the image.
+     * @param quality  the quality of the image is exactly the number of particles display for each pixel. Recommended value is 1
+     * @param speed    the speed is exactly the same value as the speed of particles. Recommended amount is 0
+     * @param size     the size of the particle. Recommended amount is 0.8
+     * @return the animation step displaying the image.
+     * @since 13.3.0
+     */
+    public static BooleanSupplier displayRenderedImage(ParticleImage render, Callable<Location> location,
+                                                       int repeat, int quality, int speed, float size) {
+        return new BooleanSupplier() {
+            int times = repeat;
+            boolean done = false;
+
+            @Override
+            public boolean getAsBoolean() {
+                if (done) return false;
+
+                try {
+                    displayRenderedImage(render, location.call(), quality, speed, size);
+                } catch (Exception e) {
+                    e.printStackTrace();
+                }
+
+                if (times-- <= 0) {
+                    done = true;
+                    return false;
+                }
+                return true;
+            }
+        };
+    }
+
+    /**
+     * Display a rendered image repeatedly.
+     *
+     * @param plugin   the scheduler handler.
+     * @param render   the rendered image.
+     * @param location the dynamic location to display the image at.
+     * @param repeat   amount of times to repeat displaying the image.
+     * @param period   the perioud between each repeats.
+     * @param quality  the quality of the image is exactly the number of particles display for each pixel. Recommended value is 1
+     * @param speed    the speed is exactly the same value as the speed of particles. Recommended amount is 0
+     * @param size     the size of the particle. Recommended amount is 0.8
+     * @return the async bukkit task displaying the image.
+     * @since 13.3.0
+     */
+    public static BukkitTask displayRenderedImage(Plugin plugin, ParticleImage render, Callable<Location> location,
+                                                  int repeat, long period, int quality, int speed, float size) {
+        BooleanSupplier displayRenderedImage = displayRenderedImage(render, location, repeat, quality, speed, size);
+        return new BukkitRunnable() {
+            @Override
+            public void run() {
+                if (!displayRenderedImage.getAsBoolean()) cancel();
+            }
+        }.runTaskTimerAsynchronously(plugin, 0, period);
+    }
+
+    /**
+     * Displays a rendered image once.
+     *
+     * @param render   the rendered image.
+     * @param location the location to display the image at. The {@link Location#getYaw()} determines the image's rotation.
+     * @param quality  the quality of the image is exactly the number of particles display for each pixel. Recommended value is 1
+     * @param speed    the speed is exactly the same value as the speed of particles. Recommended amount is 0
+     * @param size     the size of the particle. Recommended amount is 0.8
+     * @since 13.3.0
+     */
+    public static void displayRenderedImage(ParticleImage render, Location location, int quality, int speed, float size) {
+        World world = location.getWorld();
+        BlockFace facing = getImageFacing(location);
+        Particle dust = XParticle.DUST.get();
+        Particle.DustOptions[] palette = render.getDustPalette(size);
+        double originX = location.getX(), originY = location.getY(), originZ = location.getZ();
+
+        for (int i = 0, pixels = render.size(); i < pixels; i++) {
+            double pixelX = render.getX(i), pixelY = render.getY(i);
+            double x, y, z;
+
+            switch (facing) {
+                case NORTH:
+                    x = originX - pixelX;
+                    y = originY - pixelY;
+                    z = originZ;
+                    break;
+                case EAST:
+                    x = originX;
+                    y = originY - pixelX;
+                    z = originZ - pixelY;
+                    break;
+                case SOUTH:
+                    x = originX - pixelY;
+                    y = originY - pixelX;
+                    z = originZ;
+                    break;
+                case WEST:
+                    x = originX;
+                    y = originY - pixelY;
+                    z = originZ - pixelX;
+                    break;
+                default:
+                    throw new AssertionError("Invalid facing: " + facing);
+            }
+
+            world.spawnParticle(dust, x, y, z, quality, 0, 0, 0, speed, palette[render.getPaletteIndex(i)]);
+        }
+    }
+
+    /**
+     * @return the direction that rendered images are displayed towards based on the location's yaw.
+     */
+    private static BlockFace getImageFacing(Location location) {
+        double rotation = location.getYaw(); // The rotation axis.
+        if (rotation >= 135 || rotation < -135) return BlockFace.NORTH;
+        else if (rotation >= -135 && rotation < -45) return BlockFace.EAST;
+        else if (rotation >= -45 && rotation < 45) return BlockFace.SOUTH;
+        else if (rotation >= 45 && rotation < 135) return BlockFace.WEST;
+        else throw new IllegalArgumentException("Unknown rotation yaw: " + rotation);
+    }
+
     /**
      * A simple method used to save images. Useful to cache text generated images.
      *
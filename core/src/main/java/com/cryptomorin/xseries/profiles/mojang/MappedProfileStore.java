@@ -0,0 +1,382 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025 Crypto Morin
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+ * PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE
+ * FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.cryptomorin.xseries.profiles.mojang;
+
+import com.cryptomorin.xseries.profiles.PlayerProfiles;
+import com.cryptomorin.xseries.profiles.ProfileLogger;
+import com.mojang.authlib.GameProfile;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.*;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.CRC32;
+
+/**
+ * The default {@link ProfileStore} which keeps all the entries in memory and appends every
+ * change to a memory-mapped file, so writing an entry is just a memory copy and the operating
+ * system takes care of writing it to the disk, even if the server crashes.
+ * <p>
+ * The file is read once when the store is opened. Since the file only grows, it's compacted
+ * when most of its records are outdated, which rewrites the file with only the latest entries
+ * that haven't expired yet.
+ * <pre>{@code
+ * MojangAPI.setProfileStore(MappedProfileStore.open(plugin.getDataFolder().toPath().resolve("profiles.dat"), Duration.ofDays(1)));
+ * }</pre>
+ * Only the name and the textures of profiles are stored.
+ * If the file is corrupted, the entries after the corrupted record are lost and will be requested again.
+ */
+@ApiStatus.Experimental
+public final class MappedProfileStore implements ProfileStore {
+    private static final int MAGIC = 0x58535053; // XSPS
+    private static final int FORMAT = 2;
+    static final int HEADER_SIZE = 8;
+    /**
+     * Each record is {@code [int length][int crc32][byte type][long timestamp][data]}
+     * and the last record is followed by a zero length.
+     */
+    static final int RECORD_HEADER_SIZE = 8, TERMINATOR_SIZE = 4;
+    private static final byte PROFILE = 1, USERNAME = 2;
+
+    private static final int INITIAL_SIZE = 64 * 1024;
+    /**
+     * The file is only compacted if it has at least this many records.
+     */
+    static final int COMPACTION_THRESHOLD = 1024;
+
+    private final Path path;
+    private final long expiration;
+    private final Map<UUID, Entry<GameProfile>> profiles = new ConcurrentHashMap<>();
+    private final Map<String, Entry<Username>> usernames = new ConcurrentHashMap<>();
+
+    // All the fields below are guarded by this object's monitor.
+    private final FileChannel channel;
+    private MappedByteBuffer buffer;
+    private int records;
+    private boolean closed;
+
+    private MappedProfileStore(Path path, Duration expiration) throws IOException {
+        this.path = path;
+        this.expiration = expiration.toMillis();
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+
+        try {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) throw new IOException("Profile store is too large: " + size);
+            this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, Math.max(size, INITIAL_SIZE));
+            load(size);
+        } catch (IOException | RuntimeException ex) {
+            channel.close();
+            throw ex;
+        }
+    }
+
+    /**
+     * Opens or creates a profile store.
+     *
+     * @param path       the file to store the profiles in.
+     * @param expiration how long the stored entries are valid for.
+     */
+    @NotNull
+    public static MappedProfileStore open(@NotNull Path path, @NotNull Duration expiration) throws IOException {
+        Objects.requireNonNull(path, "Profile store path cannot be null");
+        Objects.requireNonNull(expiration, "Profile store expiration cannot be null");
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) Files.createDirectories(parent);
+        return new MappedProfileStore(path, expiration);
+    }
+
+    private void load(long size) throws IOException {
+        if (size < HEADER_SIZE || buffer.getInt(0) != MAGIC || buffer.getInt(4) != FORMAT) {
+            if (size != 0) ProfileLogger.LOGGER.warn("Resetting unknown profile store format: {}", path);
+            buffer.putInt(0, MAGIC);
+            buffer.putInt(4, FORMAT);
+            buffer.putInt(HEADER_SIZE, 0);
+            buffer.position(HEADER_SIZE);
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+        int position = HEADER_SIZE;
+        int limit = buffer.capacity();
+        CRC32 crc = new CRC32();
+        while (position + RECORD_HEADER_SIZE <= limit) {
+            int length = buffer.getInt(position);
+            if (length == 0) break;
+            // The length isn't covered by the CRC, it might be anything if the write was torn.
+            if (length < 0 || length > limit - position - RECORD_HEADER_SIZE) {
+                ProfileLogger.LOGGER.warn("Profile store {} is corrupted at {}, the remaining entries are discarded.", path, position);
+                break;
+            }
+
+            byte[] record = new byte[length];
+            buffer.position(position + RECORD_HEADER_SIZE);
+            buffer.get(record);
+
+            crc.reset();
+            crc.update(record, 0, length);
+            if ((int) crc.getValue() != buffer.getInt(position + 4)) {
+                ProfileLogger.LOGGER.warn("Profile store {} is corrupted at {}, the remaining entries are discarded.", path, position);
+                break;
+            }
+
+            read(record, now);
+            records++;
+            position += RECORD_HEADER_SIZE + length;
+        }
+
+        buffer.position(position);
+        if (position + TERMINATOR_SIZE <= limit) buffer.putInt(position, 0);
+        ProfileLogger.debug("Loaded {} profiles and {} usernames from {}", profiles.size(), usernames.size(), path);
+        compactIfNeeded();
+    }
+
+    private void read(byte[] record, long now) throws IOException {
+        DataInputStream input = new DataInputStream(new ByteArrayInputStream(record));
+        byte type = input.readByte();
+        long timestamp = input.readLong();
+        boolean expired = now - timestamp > expiration;
+
+        switch (type) {
+            case PROFILE: {
+                UUID id = new UUID(input.readLong(), input.readLong());
+                GameProfile profile = null;
+                if (input.readBoolean()) {
+                    profile = PlayerProfiles.createGameProfile(id, input.readUTF());
+                    if (input.readBoolean()) PlayerProfiles.setTexturesProperty(profile, input.readUTF());
+                }
+
+                if (expired) profiles.remove(id);
+                else profiles.put(id, new Entry<>(profile, timestamp));
+                break;
+            }
+            case USERNAME: {
+                String username = input.readUTF();
+                Username player = input.readBoolean() ?
+                        new Username(input.readUTF(), new UUID(input.readLong(), input.readLong())) : null;
+
+                if (expired) usernames.remove(username);
+                else usernames.put(username, new Entry<>(player, timestamp));
+                break;
+            }
+            default:
+                throw new IOException("Unknown profile store record type: " + type);
+        }
+    }
+
+    @Nullable
+    @Override
+    public Entry<GameProfile> getProfile(@NotNull UUID realId) {
+        Entry<GameProfile> entry = profiles.get(realId);
+        if (entry == null || isExpired(entry)) return null;
+        return entry;
+    }
+
+    @Override
+    public void putProfile(@NotNull UUID realId, @Nullable GameProfile profile) {
+        Entry<GameProfile> entry = new Entry<>(profile, System.currentTimeMillis());
+        try {
+            append(profiles, realId, entry, encodeProfile(realId, entry));
+        } catch (IOException ex) {
+            ProfileLogger.LOGGER.error("Failed to store profile {} -> {} in {}", realId, profile, path, ex);
+        }
+    }
+
+    @Nullable
+    @Override
+    public Entry<Username> getUsername(@NotNull String username) {
+        Entry<Username> entry = usernames.get(username.toLowerCase(Locale.ENGLISH));
+        if (entry == null || isExpired(entry)) return null;
+        return entry;
+    }
+
+    @Override
+    public void putUsername(@NotNull String username, @Nullable Username player) {
+        String normalized = username.toLowerCase(Locale.ENGLISH);
+        Entry<Username> entry = new Entry<>(player, System.currentTimeMillis());
+        try {
+            append(usernames, normalized, entry, encodeUsername(normalized, entry));
+        } catch (IOException ex) {
+            ProfileLogger.LOGGER.error("Failed to store UUID of {} -> {} in {}", username, player, path, ex);
+        }
+    }
+
+    private static byte[] encodeUsername(String username, Entry<Username> entry) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+        DataOutputStream output = new DataOutputStream(bytes);
+        output.writeByte(USERNAME);
+        output.writeLong(entry.getTimestamp());
+        output.writeUTF(username);
+
+        Username player = entry.getValue();
+        output.writeBoolean(player != null);
+        if (player != null) {
+            UUID id = player.getRealId();
+            output.writeUTF(player.getName());
+            output.writeLong(id.getMostSignificantBits());
+            output.writeLong(id.getLeastSignificantBits());
+        }
+        return bytes.toByteArray();
+    }
+
+    private boolean isExpired(Entry<?> entry) {
+        return System.currentTimeMillis() - entry.getTimestamp() > expiration;
+    }
+
+    /**
+     * The entry is put in the map while holding the lock, so the records of the same key
+     * are appended in the same order as the map is updated and the latest one is kept when the file is loaded.
+     */
+    private synchronized <K, V> void append(Map<K, Entry<V>> entries, K key, Entry<V> entry, byte[] record) throws IOException {
+        entries.put(key, entry);
+        if (closed) return;
+        write(record);
+        records++;
+        compactIfNeeded();
+    }
+
+    private void write(byte[] record) throws IOException {
+        int needed = RECORD_HEADER_SIZE + record.length + TERMINATOR_SIZE;
+        if (buffer.remaining() < needed) {
+            int position = buffer.position();
+            long newSize = Math.max((long) buffer.capacity() << 1, (long) position + needed);
+            if (newSize > Integer.MAX_VALUE) throw new IOException("Profile store is too large: " + newSize);
+
+            buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, newSize);
+            buffer.position(position);
+        }
+
+        CRC32 crc = new CRC32();
+        crc.update(record, 0, record.length);
+        buffer.putInt(record.length);
+        buffer.putInt((int) crc.getValue());
+        buffer.put(record);
+        buffer.putInt(buffer.position(), 0);
+    }
+
+    /**
+     * Rewrites the file in place with only the latest entries if most of its records are outdated.
+     * This is not atomic, if the server is killed in the middle of this, some entries are lost
+     * and will be requested again.
+     */
+    private void compactIfNeeded() throws IOException {
+        if (records < COMPACTION_THRESHOLD || records < 2 * (profiles.size() + usernames.size())) return;
+
+        // Encode everything first, the buffer is overwritten from the beginning.
+        long now = System.currentTimeMillis();
+        ByteArrayOutputStream compacted = new ByteArrayOutputStream();
+        DataOutputStream output = new DataOutputStream(compacted);
+        int compactedRecords = 0;
+
+        for (Map.Entry<UUID, Entry<GameProfile>> profile : profiles.entrySet()) {
+            Entry<GameProfile> entry = profile.getValue();
+            if (now - entry.getTimestamp() > expiration) {
+                profiles.remove(profile.getKey(), entry);
+                continue;
+            }
+            writeRecord(output, encodeProfile(profile.getKey(), entry));
+            compactedRecords++;
+        }
+        for (Map.Entry<String, Entry<Username>> username : usernames.entrySet()) {
+            Entry<Username> entry = username.getValue();
+            if (now - entry.getTimestamp() > expiration) {
+                usernames.remove(username.getKey(), entry);
+                continue;
+            }
+            writeRecord(output, encodeUsername(username.getKey(), entry));
+            compactedRecords++;
+        }
+
+        buffer.position(HEADER_SIZE);
+        buffer.putInt(HEADER_SIZE, 0);
+        byte[] bytes = compacted.toByteArray();
+        if (buffer.remaining() < bytes.length + TERMINATOR_SIZE) {
+            buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE + bytes.length + TERMINATOR_SIZE);
+            buffer.position(HEADER_SIZE);
+        }
+        buffer.put(bytes);
+        buffer.putInt(buffer.position(), 0);
+        buffer.force();
+
+        ProfileLogger.debug("Compacted profile store {} from {} to {} records", path, records, compactedRecords);
+        records = compactedRecords;
+    }
+
+    private static void writeRecord(DataOutputStream output, byte[] record) throws IOException {
+        CRC32 crc = new CRC32();
+        crc.update(record, 0, record.length);
+        output.writeInt(record.length);
+        output.writeInt((int) crc.getValue());
+        output.write(record);
+    }
+
+    private static byte[] encodeProfile(UUID realId, Entry<GameProfile> entry) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        DataOutputStream output = new DataOutputStream(bytes);
+        output.writeByte(PROFILE);
+        output.writeLong(entry.getTimestamp());
+        output.writeLong(realId.getMostSignificantBits());
+        output.writeLong(realId.getLeastSignificantBits());
+
+        GameProfile profile = entry.getValue();
+        output.writeBoolean(profile != null);
+        if (profile != null) {
+            output.writeUTF(profile.getName());
+            String textures = PlayerProfiles.getTextureValue(profile);
+            output.writeBoolean(textures != null);
+            if (textures != null) output.writeUTF(textures);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Forces all the changes to be written to the disk.
+     */
+    public synchronized void flush() {
+        if (!closed) buffer.force();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (closed) return;
+        closed = true;
+        buffer.force();
+        channel.close();
+    }
+
+    @Override
+    public String toString() {
+        return "MappedProfileStore{path=" + path + ", profiles=" + profiles.size() + ", usernames=" + usernames.size() + '}';
+    }
+}
@@ -48,7 +48,9 @@ import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.util.Locale;
 import java.util.Objects;
+import java.util.concurrent.*;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.BiFunction;
 
 /**
@@ -64,9 +66,19 @@ public class MinecraftClient {
     private static final Proxy PROXY = ProfilesCore.PROXY == null ? Proxy.NO_PROXY : ProfilesCore.PROXY;
     private static final Gson GSON = new Gson();
     /**
-     * It's not known whether there is a global rate limit that's shared for all requests or not.
+     * It's not known whether there is a global rate limit that's shared for all requests or not,
+     * so this only counts all the requests that were sent for debugging.
      */
-    private static final RateLimiter TOTAL_REQUESTS = new RateLimiter(Integer.MAX_VALUE, Duration.ofMinutes(10));
+    private static final LongAdder TOTAL_REQUESTS = new LongAdder();
+    /**
+     * Schedules the retries and rate limit waits of {@link Session#requestAsync(Executor) async requests}
+     * so no threads are blocked while waiting. The actual tasks are only resubmitted to the request's executor.
+     */
+    static final ScheduledExecutorService TIMER = Executors.newSingleThreadScheduledExecutor(run -> {
+        Thread thread = new Thread(run, "MinecraftClient Timer");
+        thread.setDaemon(true);
+        return thread;
+    });
     /**
      * For example:
      * XSeries/11.2.0 (X11; Linux x86_64; Oracle Corporation; 21.0.0) Paper/1.21-R0.1-SNAPSHOT 1.21-9-4ea696f (MC: 1.21)
@@ -97,7 +109,7 @@ public class MinecraftClient {
     }
 
     private static String totalReq() {
-        return " (total: " + TOTAL_REQUESTS.getEffectiveRequestsCount() + ')';
+        return " (total: " + TOTAL_REQUESTS.sum() + ')';
     }
 
     @SuppressWarnings("ReturnOfInnerClass")
@@ -161,9 +173,7 @@ public class MinecraftClient {
         @Nullable
         public JsonElement request() throws IOException, MojangAPIException {
             try {
-                JsonElement response = request0();
-                debug("Received response: {}", response);
-                return response == null ? null : (response.isJsonNull() ? null : response);
+                return handleResponse(request0());
             } catch (Exception ex) {
                 if (retries > 0) {
                     retries--;
@@ -186,6 +196,101 @@ public class MinecraftClient {
             }
         }
 
+        /**
+         * Same as {@link #request()} except that the request is sent from the given executor and this thread
+         * is never blocked. Rate limit waits and retry delays are scheduled on a timer instead of sleeping.
+         * <p>
+         * The returned future completes with null if the resource is not found (HTTP 404), or exceptionally
+         * with the same errors that {@link #request()} throws. The error handler given to
+         * {@link #exceptionally(BiFunction)} is called from the thread that sent the request.
+         * Cancelling the future stops any further retries.
+         *
+         * @param executor the executor that sends the requests, usually {@link PlayerProfileFetcherThread#EXECUTOR}.
+         */
+        @NotNull
+        public CompletableFuture<JsonElement> requestAsync(@NotNull Executor executor) {
+            Objects.requireNonNull(executor, "Request executor cannot be null");
+            CompletableFuture<JsonElement> future = new CompletableFuture<>();
+            requestAsync(future, executor);
+            return future;
+        }
+
+        @NotNull
+        public CompletableFuture<JsonElement> requestAsync() {
+            return requestAsync(PlayerProfileFetcherThread.EXECUTOR);
+        }
+
+        private void requestAsync(CompletableFuture<JsonElement> future, Executor executor) {
+            if (future.isDone()) return;
+
+            if (waitInQueue) {
+                rateLimiter.acquireAsync().thenRun(() -> send(future, executor));
+            } else if (rateLimiter.acquire()) {
+                send(future, executor);
+            } else {
+                handleAsyncError(future, executor, new MojangAPIRetryException(MojangAPIRetryException.Reason.RATELIMITED,
+                        "Rate limit has been hit! " + rateLimiter + totalReq()));
+            }
+        }
+
+        private void send(CompletableFuture<JsonElement> future, Executor executor) {
+            if (future.isDone()) return;
+            try {
+                executor.execute(() -> {
+                    try {
+                        future.complete(handleResponse(send()));
+                    } catch (Throwable ex) {
+                        handleAsyncError(future, executor, ex);
+                    }
+                });
+            } catch (RejectedExecutionException ex) {
+                future.completeExceptionally(ex);
+            }
+        }
+
+        private void handleAsyncError(CompletableFuture<JsonElement> future, Executor executor, Throwable ex) {
+            if (retries > 0) {
+                retries--;
+                // Rate limits are already waited for when the request is attempted again.
+                boolean rateLimited = ex instanceof MojangAPIRetryException &&
+                        ((MojangAPIRetryException) ex).getReason() == MojangAPIRetryException.Reason.RATELIMITED;
+                schedule(future, executor, rateLimited ? 0 : retryDelay.toMillis());
+                return;
+            }
+
+            if (errorHandler != null) {
+                Boolean shouldRetry;
+                try {
+                    shouldRetry = errorHandler.apply(this, ex);
+                } catch (Throwable handlerEx) {
+                    handlerEx.addSuppressed(ex);
+                    future.completeExceptionally(handlerEx);
+                    return;
+                }
+
+                if (shouldRetry == null || shouldRetry) {
+                    requestAsync(future, executor);
+                    return;
+                }
+            }
+
+            future.completeExceptionally(ex);
+        }
+
+        private void schedule(CompletableFuture<JsonElement> future, Executor executor, long delay) {
+            try {
+                TIMER.schedule(() -> requestAsync(future, executor), delay, TimeUnit.MILLISECONDS);
+            } catch (RejectedExecutionException ex) {
+                future.completeExceptionally(ex);
+            }
+        }
+
+        @Nullable
+        private JsonElement handleResponse(@Nullable JsonElement response) {
+            debug("Received response: {}", response);
+            return response == null ? null : (response.isJsonNull() ? null : response);
+        }
+
         @Nullable
         private JsonElement request0() throws IOException, MojangAPIException {
             if (waitInQueue) {
@@ -196,6 +301,12 @@ public class MinecraftClient {
                             "Rate limit has been hit! " + rateLimiter + totalReq());
             }
 
+            return send();
+        }
+
+        @Nullable
+        private JsonElement send() throws IOException, MojangAPIException {
+            TOTAL_REQUESTS.increment();
             connection = (HttpURLConnection)
                     (append == null ? baseURL : baseURL.resolve(append)).toURL().openConnection(PROXY);
             connection.setRequestMethod(method);
@@ -46,7 +46,8 @@ import org.jetbrains.annotations.Nullable;
 import java.io.IOException;
 import java.time.Duration;
 import java.util.*;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * Note: <a href="https://wiki.vg/">Wiki.vg</a> is no longer availabe because it was
@@ -69,6 +70,22 @@ public final class MojangAPI {
      */
     private static final boolean REQUIRE_SECURE_PROFILES = false;
 
+    /**
+     * An optional persistent cache that's checked before sending any requests.
+     */
+    @Nullable
+    private static volatile ProfileStore profileStore;
+
+    /**
+     * Requests that are currently being sent, so concurrent lookups for the same player
+     * wait for the same request instead of sending their own. This is different from
+     * {@link com.cryptomorin.xseries.profiles.objects.cache.CacheableProfileable} which only
+     * prevents duplicate requests for the same instance.
+     */
+    private static final Map<UUID, CompletableFuture<GameProfile>> PROFILE_REQUESTS = new ConcurrentHashMap<>();
+    private static final Map<String, CompletableFuture<UUID>> UUID_REQUESTS = new ConcurrentHashMap<>();
+    private static final LongAdder ISSUED_REQUESTS = new LongAdder(), COALESCED_REQUESTS = new LongAdder();
+
     /**
      * https://wiki.vg/Mojang_API#Username_to_UUID
      */
@@ -98,20 +115,114 @@ public final class MojangAPI {
             new RateLimiter(200, Duration.ofMinutes(1))
     );
 
+    /**
+     * Sets the persistent cache that's used for profiles and usernames before sending any requests.
+     * The previous store is not closed.
+     *
+     * @param store the store to use or null to disable it.
+     * @see MappedProfileStore
+     */
+    public static void setProfileStore(@Nullable ProfileStore store) {
+        profileStore = store;
+    }
+
+    @Nullable
+    public static ProfileStore getProfileStore() {
+        return profileStore;
+    }
+
+    /**
+     * @return the number of profile and UUID lookups that were actually sent
+     * (or at least attempted to be sent) since the server started.
+     * @see #getCoalescedRequests()
+     */
+    public static long getIssuedRequests() {
+        return ISSUED_REQUESTS.sum();
+    }
+
+    /**
+     * @return the number of profile and UUID lookups that waited for the result of
+     * an identical lookup that was already in progress instead of sending their own request.
+     * @see #getIssuedRequests()
+     */
+    public static long getCoalescedRequests() {
+        return COALESCED_REQUESTS.sum();
+    }
+
+    /**
+     * Runs the given request, unless there's already a request running for the same key,
+     * in which case this waits for that request and returns its result (or throws its error).
+     * The request itself counts as issued only when it's actually sent, since it might be
+     * answered from the cache that a previous request filled.
+     */
+    static <K, V> V singleFlight(Map<K, CompletableFuture<V>> inFlight, K key, Callable<V> request) {
+        CompletableFuture<V> future = new CompletableFuture<>();
+        CompletableFuture<V> running = inFlight.putIfAbsent(key, future);
+
+        if (running != null) {
+            COALESCED_REQUESTS.increment();
+            ProfileLogger.debug("Waiting for an identical request that is in progress: {}", key);
+            try {
+                return running.get();
+            } catch (ExecutionException ex) {
+                throw XReflection.throwCheckedException(ex.getCause());
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new MojangAPIException("Interrupted while waiting for request: " + key, ex);
+            }
+        }
+
+        try {
+            V result = request.call();
+            future.complete(result);
+            return result;
+        } catch (Throwable ex) {
+            future.completeExceptionally(ex);
+            throw XReflection.throwCheckedException(ex);
+        } finally {
+            inFlight.remove(key, future);
+        }
+    }
+
     /**
      * @return null if a player with that username is not found.
      */
     @Nullable
     public static UUID requestUsernameToUUID(@NotNull String username) throws IOException {
+        ProfileStore store = profileStore;
+        if (store != null) {
+            ProfileStore.Entry<ProfileStore.Username> stored = store.getUsername(username);
+            if (stored != null) {
+                ProfileLogger.debug("Found stored UUID for {} -> {}", username, stored);
+                return stored.exists() ? stored.getValue().getRealId() : null;
+            }
+        }
+
+        return singleFlight(UUID_REQUESTS, username.toLowerCase(Locale.ENGLISH), () -> requestUsernameToUUID0(username, store));
+    }
+
+    @Nullable
+    private static UUID requestUsernameToUUID0(@NotNull String username, @Nullable ProfileStore store) throws IOException {
+        ISSUED_REQUESTS.increment();
         JsonElement requestElement = USERNAME_TO_UUID.session(null).append(username).request();
-        if (requestElement == null) return null;
+        if (requestElement == null) {
+            if (store != null) store.putUsername(username, null);
+            return null;
+        }
 
         JsonObject userJson = requestElement.getAsJsonObject();
         JsonElement idElement = userJson.get("id");
         if (idElement == null)
             throw new IllegalArgumentException("No 'id' field for UUID request for '" + username + "': " + userJson);
 
-        return PlayerUUIDs.UUIDFromDashlessString(idElement.getAsString());
+        UUID realId = PlayerUUIDs.UUIDFromDashlessString(idElement.getAsString());
+        if (store != null) {
+            // The response has the case-corrected name.
+            JsonElement nameElement = userJson.get("name");
+            String name = nameElement == null ? username : nameElement.getAsString();
+            store.putUsername(username, new ProfileStore.Username(name, realId));
+        }
+        return realId;
     }
 
     /**
@@ -211,6 +322,8 @@ public final class MojangAPI {
 
         Map<UUID, String> mapped = new HashMap<>(usernames.size());
         Set<String> finalUsernames = new HashSet<>(usernames);
+        boolean onlineMode = PlayerUUIDs.isOnlineMode();
+        ProfileStore store = profileStore;
         {
             // Remove duplicate & cached names
             // TODO - Perhaps we could add another list PlayerUUIDs.LOWERCASE_TO_USERNAME
@@ -222,12 +335,22 @@ public final class MojangAPI {
                 if (cached != null) {
                     usernameIter.remove();
                     mapped.put(cached, username);
+                    continue;
+                }
+
+                ProfileStore.Entry<ProfileStore.Username> stored = store == null ? null : store.getUsername(username);
+                if (stored != null) {
+                    usernameIter.remove();
+                    if (stored.exists()) {
+                        ProfileStore.Username player = stored.getValue();
+                        cacheUsername(player.getName(), player.getRealId(), onlineMode);
+                        mapped.put(player.getRealId(), player.getName());
+                    }
                 }
             }
         }
 
         if (finalUsernames.isEmpty()) return mapped;
-        boolean onlineMode = PlayerUUIDs.isOnlineMode();
 
         // For some reason, the YggdrasilGameProfileRepository partitions names in pairs instead of 10s.
         // It also "normalizes" names with lowercase and sends the request.
@@ -245,28 +368,48 @@ public final class MojangAPI {
                 throw new MojangAPIException("Failed to request UUIDs for username batch: " + batch, ex);
             }
 
+            Set<String> missing = store == null ? null : new HashSet<>(batch.size());
+            if (missing != null) for (String username : batch) missing.add(username.toLowerCase(Locale.ENGLISH));
+
             for (JsonElement element : response) {
                 JsonObject obj = element.getAsJsonObject();
                 String name = obj.get("name").getAsString();
                 UUID realId = PlayerUUIDs.UUIDFromDashlessString(obj.get("id").getAsString());
-                UUID offlineId = PlayerUUIDs.getOfflineUUID(name);
+                cacheUsername(name, realId, onlineMode);
 
-                PlayerUUIDs.USERNAME_TO_ONLINE.put(name, realId);
-                PlayerUUIDs.ONLINE_TO_OFFLINE.put(realId, offlineId);
-                PlayerUUIDs.OFFLINE_TO_ONLINE.put(offlineId, realId);
-                if (!ProfilesCore.UserCache_profilesByName.containsKey(name)) {
-                    cacheProfile(PlayerProfiles.createGameProfile(onlineMode ? realId : offlineId, name));
+                if (store != null) {
+                    store.putUsername(name, new ProfileStore.Username(name, realId));
+                    missing.remove(name.toLowerCase(Locale.ENGLISH));
                 }
 
                 String prev = mapped.put(realId, name);
                 if (prev != null)
                     throw new IllegalArgumentException("Got duplicate usernames for UUID: " + realId + " (" + prev + " -> " + name + ')');
             }
+
+            // Usernames that are not in the response don't exist.
+            if (store != null) for (String username : missing) store.putUsername(username, null);
         }
 
         return mapped;
     }
 
+    /**
+     * Caches the UUIDs of a username that exists, from either the response or the {@link ProfileStore}.
+     *
+     * @param name the case-corrected username.
+     */
+    private static void cacheUsername(String name, UUID realId, boolean onlineMode) {
+        UUID offlineId = PlayerUUIDs.getOfflineUUID(name);
+
+        PlayerUUIDs.USERNAME_TO_ONLINE.put(name, realId);
+        PlayerUUIDs.ONLINE_TO_OFFLINE.put(realId, offlineId);
+        PlayerUUIDs.OFFLINE_TO_ONLINE.put(offlineId, realId);
+        if (!ProfilesCore.UserCache_profilesByName.containsKey(name)) {
+            cacheProfile(PlayerProfiles.createGameProfile(onlineMode ? realId : offlineId, name));
+        }
+    }
+
     /**
      * Retrieves a cached {@link GameProfile} by UUID from the user cache.
      * If the profile is not found in the cache, creates a new profile with the provided UUID.
@@ -336,6 +479,16 @@ public final class MojangAPI {
         GameProfile cached = handleCache(profile, realUUID);
         if (cached != null) return cached;
 
+        return singleFlight(PROFILE_REQUESTS, realUUID, () -> {
+            // The previous request for this player might've finished right before this one started.
+            GameProfile recached = handleCache(profile, realUUID);
+            if (recached != null) return recached;
+            return fetchProfile(profile, realUUID);
+        });
+    }
+
+    private static @NotNull GameProfile fetchProfile(@NotNull GameProfile profile, UUID realUUID) {
+        ISSUED_REQUESTS.increment();
         JsonElement request = requestProfile(profile, realUUID);
         JsonObject profileData = request.getAsJsonObject();
         List<String> profileActions = new ArrayList<>();
@@ -347,6 +500,9 @@ public final class MojangAPI {
         INSECURE_PROFILES.put(realUUID, Optional.of(fetchedProfile));
         MOJANG_PROFILE_CACHE.cache(new PlayerProfile(realUUID, profile, fetchedProfile, profileActions));
 
+        ProfileStore store = profileStore;
+        if (store != null) store.putProfile(realUUID, fetchedProfile);
+
         return fetchedProfile;
     }
 
@@ -366,6 +522,15 @@ public final class MojangAPI {
             if (mojangCache.isPresent()) return mojangCache.get();
             else throw new UnknownPlayerException(realUUID, "Player with the given properties not found: " + profile);
         }
+
+        ProfileStore store = profileStore;
+        ProfileStore.Entry<GameProfile> stored = store == null ? null : store.getProfile(realUUID);
+        if (stored != null) {
+            ProfileLogger.debug("Found stored profile from UUID ({}): {} -> {}", realUUID, profile, stored);
+            INSECURE_PROFILES.put(realUUID, Optional.ofNullable(stored.getValue()));
+            if (stored.exists()) return stored.getValue();
+            else throw new UnknownPlayerException(realUUID, "Player with the given properties not found: " + profile);
+        }
         return null;
     }
 
@@ -381,6 +546,9 @@ public final class MojangAPI {
         if (request == null) {
             INSECURE_PROFILES.put(realUUID, Optional.empty());
             MOJANG_PROFILE_CACHE.cache(new PlayerProfile(realUUID, profile, null, null));
+
+            ProfileStore store = profileStore;
+            if (store != null) store.putProfile(realUUID, null);
             throw new UnknownPlayerException(realUUID, "Player with the given properties not found: " + profile);
         }
         return request;
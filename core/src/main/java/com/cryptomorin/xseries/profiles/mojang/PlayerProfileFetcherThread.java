@@ -26,26 +26,192 @@ import com.cryptomorin.xseries.profiles.ProfileLogger;
 import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.NotNull;
 
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ThreadFactory;
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.*;
 import java.util.concurrent.atomic.AtomicInteger;
 
+/**
+ * The executor that's used for blocking profile lookups, such as {@link com.cryptomorin.xseries.profiles.builder.ProfileInstruction#applyAsync()}
+ * and {@link com.cryptomorin.xseries.profiles.objects.Profileable#prepare(java.util.Collection)}.
+ * <p>
+ * By default, this uses virtual threads on Java 21+ and a bounded thread pool otherwise.
+ * A custom executor can be set with {@link #setExecutor(ExecutorService)}, and plugins
+ * should call {@link #shutdown(Duration)} when they're disabled.
+ */
 @ApiStatus.Internal
 public final class PlayerProfileFetcherThread implements ThreadFactory {
     /**
-     * An executor service with a fixed thread pool of size 2, used for asynchronous operations.
+     * The number of platform threads used when virtual threads are not supported.
+     * Lookups are mostly waiting for responses, so this is not related to the number of CPUs.
      */
-    public static final ExecutorService EXECUTOR = Executors.newFixedThreadPool(2, new PlayerProfileFetcherThread());
+    private static final int DEFAULT_THREADS = 8;
 
     private static final AtomicInteger COUNT = new AtomicInteger();
+    private static final AtomicInteger QUEUED = new AtomicInteger(), ACTIVE = new AtomicInteger();
+    private static volatile ExecutorService executor = createDefaultExecutor();
+
+    /**
+     * An executor service that sends all the tasks to the {@link #getExecutor() current executor}.
+     * Shutting down this executor shuts down the current executor.
+     */
+    public static final ExecutorService EXECUTOR = new DelegatingExecutor();
 
     @Override
     public Thread newThread(@NotNull final Runnable run) {
         final Thread thread = new Thread(run);
         thread.setName("Profile Lookup Executor #" + COUNT.getAndIncrement());
+        thread.setDaemon(true);
         thread.setUncaughtExceptionHandler((t, throwable) ->
                 ProfileLogger.LOGGER.error("Uncaught exception in thread {}", t.getName(), throwable));
         return thread;
     }
-}
\ No newline at end of file
+
+    /**
+     * @return an executor that creates a new virtual thread for each task on Java 21+,
+     * otherwise a pool of {@value #DEFAULT_THREADS} threads that are stopped when they're idle.
+     */
+    @NotNull
+    public static ExecutorService createDefaultExecutor() {
+        try {
+            Method virtualThreads = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) virtualThreads.invoke(null);
+        } catch (NoSuchMethodException ignored) {
+            // Java 20 or older
+        } catch (Throwable ex) {
+            ProfileLogger.LOGGER.error("Failed to create virtual thread executor, falling back to platform threads", ex);
+        }
+
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(DEFAULT_THREADS, DEFAULT_THREADS,
+                1L, TimeUnit.MINUTES, new LinkedBlockingQueue<>(), new PlayerProfileFetcherThread());
+        pool.allowCoreThreadTimeOut(true);
+        return pool;
+    }
+
+    /**
+     * @return the executor that currently runs the tasks submitted to {@link #EXECUTOR}.
+     */
+    @NotNull
+    public static ExecutorService getExecutor() {
+        return executor;
+    }
+
+    /**
+     * Replaces the executor that runs the tasks submitted to {@link #EXECUTOR}.
+     * The previous executor is not shut down and will finish the tasks that were already submitted to it.
+     *
+     * @return the previous executor.
+     */
+    @NotNull
+    public static ExecutorService setExecutor(@NotNull ExecutorService executor) {
+        Objects.requireNonNull(executor, "Profile lookup executor cannot be null");
+        ExecutorService previous = PlayerProfileFetcherThread.executor;
+        PlayerProfileFetcherThread.executor = executor;
+        return previous;
+    }
+
+    /**
+     * Stops accepting new lookups and waits for the running ones to finish,
+     * then interrupts them if they didn't finish in time.
+     *
+     * @param timeout how long to wait for the lookups to finish.
+     * @return true if all the lookups finished before the timeout.
+     */
+    public static boolean shutdown(@NotNull Duration timeout) {
+        ExecutorService executor = PlayerProfileFetcherThread.executor;
+        executor.shutdown();
+        try {
+            if (executor.awaitTermination(timeout.toNanos(), TimeUnit.NANOSECONDS)) return true;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+
+        // Not EXECUTOR.shutdownNow(), the executor might've been replaced in the meantime.
+        List<Runnable> cancelled = shutdownNow(executor);
+        ProfileLogger.LOGGER.warn("Profile lookups didn't finish in {}, {} queued lookups were cancelled", timeout, cancelled.size());
+        return false;
+    }
+
+    private static List<Runnable> shutdownNow(ExecutorService executor) {
+        List<Runnable> cancelled = executor.shutdownNow();
+        for (Runnable task : cancelled) {
+            if (task instanceof CountedTask) QUEUED.decrementAndGet();
+        }
+        return cancelled;
+    }
+
+    /**
+     * @return the number of tasks submitted to {@link #EXECUTOR} that are waiting to be run.
+     */
+    public static int getQueuedTasks() {
+        return QUEUED.get();
+    }
+
+    /**
+     * @return the number of tasks submitted to {@link #EXECUTOR} that are currently running.
+     */
+    public static int getActiveTasks() {
+        return ACTIVE.get();
+    }
+
+    private static final class CountedTask implements Runnable {
+        private final Runnable task;
+
+        private CountedTask(Runnable task) {
+            this.task = task;
+        }
+
+        @Override
+        public void run() {
+            QUEUED.decrementAndGet();
+            ACTIVE.incrementAndGet();
+            try {
+                task.run();
+            } finally {
+                ACTIVE.decrementAndGet();
+            }
+        }
+    }
+
+    private static final class DelegatingExecutor extends AbstractExecutorService {
+        @Override
+        public void execute(@NotNull Runnable command) {
+            Objects.requireNonNull(command, "Cannot execute null task");
+            QUEUED.incrementAndGet();
+            try {
+                executor.execute(new CountedTask(command));
+            } catch (Throwable ex) {
+                QUEUED.decrementAndGet();
+                throw ex;
+            }
+        }
+
+        @Override
+        public void shutdown() {
+            executor.shutdown();
+        }
+
+        @NotNull
+        @Override
+        public List<Runnable> shutdownNow() {
+            return PlayerProfileFetcherThread.shutdownNow(executor);
+        }
+
+        @Override
+        public boolean isShutdown() {
+            return executor.isShutdown();
+        }
+
+        @Override
+        public boolean isTerminated() {
+            return executor.isTerminated();
+        }
+
+        @Override
+        public boolean awaitTermination(long timeout, @NotNull TimeUnit unit) throws InterruptedException {
+            return executor.awaitTermination(timeout, unit);
+        }
+    }
+}
@@ -0,0 +1,143 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025 Crypto Morin
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+ * PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE
+ * FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.cryptomorin.xseries.profiles.mojang;
+
+import com.mojang.authlib.GameProfile;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.Closeable;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * A persistent cache for the results of Mojang API requests that survives restarts.
+ * It's consulted by {@link MojangAPI} before sending any requests, see {@link MojangAPI#setProfileStore(ProfileStore)}
+ * <p>
+ * Results for players that don't exist are stored as well, as an entry with a null value.
+ * Implementations must be thread-safe.
+ *
+ * @see MappedProfileStore
+ */
+@ApiStatus.Experimental
+public interface ProfileStore extends Closeable {
+    /**
+     * @param realId the online UUID of the player.
+     * @return null if this profile is not stored or the stored entry has expired.
+     */
+    @Nullable
+    Entry<GameProfile> getProfile(@NotNull UUID realId);
+
+    /**
+     * @param realId  the online UUID of the player.
+     * @param profile the fetched profile, or null if the player doesn't exist.
+     */
+    void putProfile(@NotNull UUID realId, @Nullable GameProfile profile);
+
+    /**
+     * @param username the case-insensitive username.
+     * @return null if this username is not stored or the stored entry has expired.
+     */
+    @Nullable
+    Entry<Username> getUsername(@NotNull String username);
+
+    /**
+     * @param username the case-insensitive username that was requested.
+     * @param player   the player with the case-corrected username, or null if the player doesn't exist.
+     */
+    void putUsername(@NotNull String username, @Nullable Username player);
+
+    /**
+     * The online UUID of a player and its case-corrected username.
+     */
+    final class Username {
+        @NotNull
+        private final String name;
+        @NotNull
+        private final UUID realId;
+
+        public Username(@NotNull String name, @NotNull UUID realId) {
+            this.name = Objects.requireNonNull(name, "Username cannot be null");
+            this.realId = Objects.requireNonNull(realId, "Real UUID cannot be null");
+        }
+
+        /**
+         * @return the username with the same letter case as Mojang's response.
+         */
+        @NotNull
+        public String getName() {
+            return name;
+        }
+
+        @NotNull
+        public UUID getRealId() {
+            return realId;
+        }
+
+        @Override
+        public String toString() {
+            return "Username{name=" + name + ", realId=" + realId + '}';
+        }
+    }
+
+    /**
+     * A stored result.
+     *
+     * @param <T> the type of the value.
+     */
+    final class Entry<T> {
+        @Nullable
+        private final T value;
+        private final long timestamp;
+
+        public Entry(@Nullable T value, long timestamp) {
+            this.value = value;
+            this.timestamp = timestamp;
+        }
+
+        /**
+         * @return the stored value, or null if the player doesn't exist.
+         */
+        @Nullable
+        public T getValue() {
+            return value;
+        }
+
+        public boolean exists() {
+            return value != null;
+        }
+
+        /**
+         * @return the time that this result was stored at in milliseconds since the epoch.
+         */
+        public long getTimestamp() {
+            return timestamp;
+        }
+
+        @Override
+        public String toString() {
+            return "Entry{value=" + value + ", timestamp=" + timestamp + '}';
+        }
+    }
+}
@@ -22,13 +22,14 @@
 
 package com.cryptomorin.xseries.profiles.mojang;
 
-import com.google.errorprone.annotations.CanIgnoreReturnValue;
 import org.jetbrains.annotations.ApiStatus;
-import org.jetbrains.annotations.Unmodifiable;
+import org.jetbrains.annotations.NotNull;
 
 import java.time.Duration;
-import java.util.Iterator;
-import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
 
 /**
  * Used for {@link MojangAPI} requests.
@@ -52,88 +53,164 @@ import java.util.concurrent.ConcurrentLinkedQueue;
  * is around 600 requests per 10 (i.e. 1 request per second) for most endpoints.
  * However <a href="https://wiki.vg/Mojang_API#UUID_to_Profile_and_Skin.2FCape">UUID to Profile and Skin/Cape</a>
  * is around 200 requests per minute.
+ * <p>
+ * This is implemented as a sliding window over a ring buffer of the last {@code maxRequests} grant times.
+ * Each request takes the next ticket in order, and its slot can be reused only when the request that used it
+ * {@code maxRequests} tickets ago is older than {@code per}, so there are never more than {@code maxRequests}
+ * requests in any window of {@code per}. Waiting requests reserve their ticket in the order they arrive,
+ * so they're served in FIFO order and requests that don't wait can't take their place.
  */
 @ApiStatus.Internal
 public final class RateLimiter {
-    private final ConcurrentLinkedQueue<Long> requests = new ConcurrentLinkedQueue<>();
     private final int maxRequests;
     private final long per;
+    /**
+     * The {@link System#nanoTime()} that each slot was (or will be) used at.
+     */
+    private final AtomicLongArray grants;
+    /**
+     * The ticket that was last written to each slot. A ticket can only be written after the ticket
+     * {@code maxRequests} before it is written, otherwise its slot might still have an older time.
+     */
+    private final AtomicLongArray tickets;
+    /**
+     * The next ticket, its slot is {@code head % maxRequests}.
+     */
+    private final AtomicLong head = new AtomicLong();
 
     RateLimiter(int maxRequests, Duration per) {
+        if (maxRequests <= 0) throw new IllegalArgumentException("Max requests must be positive: " + maxRequests);
         this.maxRequests = maxRequests;
-        this.per = per.toMillis();
-    }
+        this.per = per.toNanos();
+        this.grants = new AtomicLongArray(maxRequests);
+        this.tickets = new AtomicLongArray(maxRequests);
 
-    @CanIgnoreReturnValue
-    @Unmodifiable
-    private ConcurrentLinkedQueue<Long> getRequests() {
-        if (requests.isEmpty()) return requests;
-
-        // Implementing a cleanup delay is practically not any different
-        // from just letting this loop to happen in terms of performance.
-        long now = System.currentTimeMillis();
-        Iterator<Long> iter = requests.iterator();
-        while (iter.hasNext()) {
-            long requestedAt = iter.next();
-            long diff = now - requestedAt;
-            if (diff > per) iter.remove();
-            else break; // Requests are ordered, so if this fails, the others will fail too.
+        long freed = System.nanoTime() - this.per;
+        for (int i = 0; i < maxRequests; i++) {
+            grants.set(i, freed);
+            tickets.set(i, i - (long) maxRequests);
         }
+    }
+
+    private static long later(long time, long now) {
+        return time - now > 0 ? time : now;
+    }
+
+    private int slot(long ticket) {
+        return (int) (ticket % maxRequests);
+    }
+
+    /**
+     * @return the time that the previous request of the given ticket's slot was used at.
+     */
+    private long previousGrant(long ticket) {
+        int slot = slot(ticket);
+        long previous = ticket - maxRequests;
+        // The previous ticket was taken, but it might've not been written yet.
+        while (tickets.get(slot) != previous) Thread.yield();
+        return grants.get(slot);
+    }
 
-        return requests;
+    private void grant(long ticket, long time) {
+        int slot = slot(ticket);
+        grants.set(slot, time);
+        tickets.set(slot, ticket);
     }
 
     public int getRemainingRequests() {
-        return Math.max(0, maxRequests - getRequests().size());
+        return maxRequests - getEffectiveRequestsCount();
     }
 
     public int getEffectiveRequestsCount() {
-        return getRequests().size();
+        long now = System.nanoTime();
+        int count = 0;
+        for (int i = 0; i < maxRequests; i++) {
+            if (grants.get(i) + per - now > 0) count++;
+        }
+        return count;
     }
 
+    /**
+     * Marks all the requests as used for a full {@code per} duration, usually because the server
+     * confirmed that we're rate limited.
+     */
     public void instantRateLimit() {
-        long now = System.currentTimeMillis();
-        for (int i = 0; i < getRemainingRequests(); i++) {
-            requests.add(now);
+        long now = System.nanoTime();
+        for (int i = 0; i < maxRequests; i++) {
+            long ticket = head.getAndIncrement();
+            grant(ticket, later(previousGrant(ticket), now));
         }
     }
 
     public boolean acquire() {
-        if (getRemainingRequests() <= 0) {
-            return false;
-        } else {
-            requests.add(System.currentTimeMillis());
-            return true;
+        long now = System.nanoTime();
+        while (true) {
+            long ticket = head.get();
+            if (tickets.get(slot(ticket)) != ticket - maxRequests) continue; // Still being written
+            if (grants.get(slot(ticket)) + per - now > 0) return false;
+            if (head.compareAndSet(ticket, ticket + 1)) {
+                grant(ticket, now);
+                return true;
+            }
         }
     }
 
+    /**
+     * Reserves the next request even if none are free.
+     *
+     * @return how long to wait in nanoseconds before the reserved request can be sent.
+     */
+    private long reserve() {
+        long now = System.nanoTime();
+        long ticket = head.getAndIncrement();
+        long at = later(previousGrant(ticket) + per, now);
+        grant(ticket, at);
+        return at - now;
+    }
+
     public Duration timeUntilNextFreeRequest() {
-        if (getRemainingRequests() == 0) {
-            long now = System.currentTimeMillis();
-            long oldestRequestedAt = requests.peek();
-            long diff = now - oldestRequestedAt;
-            return Duration.ofMillis(per - diff);
-        }
-        return Duration.ZERO;
+        long ticket = head.get();
+        long wait = grants.get(slot(ticket)) + per - System.nanoTime();
+        return wait <= 0 ? Duration.ZERO : Duration.ofNanos(wait);
     }
 
-    public synchronized void acquireOrWait() {
-        long sleepUntil = timeUntilNextFreeRequest().toMillis();
-        if (sleepUntil == 0) return;
+    /**
+     * Acquires a request and blocks this thread until it's free.
+     */
+    public void acquireOrWait() {
+        long wait = reserve();
+        if (wait == 0) return;
         try {
-            Thread.sleep(sleepUntil);
+            TimeUnit.NANOSECONDS.sleep(wait);
         } catch (InterruptedException e) {
-            throw new IllegalStateException("RateLimiter lock was interrupted unexpectedly", e);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("RateLimiter wait was interrupted unexpectedly", e);
         }
     }
 
+    /**
+     * Acquires a request without blocking.
+     * The request is reserved immediately, so cancelling the returned future doesn't free it.
+     *
+     * @return a future that's completed from a timer thread when the request is free.
+     */
+    @NotNull
+    public CompletableFuture<Void> acquireAsync() {
+        long wait = reserve();
+        if (wait == 0) return CompletableFuture.completedFuture(null);
+
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        MinecraftClient.TIMER.schedule(() -> future.complete(null), wait, TimeUnit.NANOSECONDS);
+        return future;
+    }
+
     @Override
     public String toString() {
         return getClass().getSimpleName() +
-                "[total=" + getRequests().size() +
+                "[total=" + getEffectiveRequestsCount() +
                 ", remaining=" + getRemainingRequests() +
                 ", maxRequests=" + maxRequests +
-                ", per=" + per +
+                ", per=" + TimeUnit.NANOSECONDS.toMillis(per) +
                 ']';
     }
-}
\ No newline at end of file
+}
@@ -29,24 +29,40 @@ import com.mojang.authlib.GameProfile;
 import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.concurrent.locks.ReentrantLock;
+
 /**
  * Any {@link Profileable} that can have its results cached.
  * This class should not be used directly.
  */
 @ApiStatus.Internal
 public abstract class CacheableProfileable implements Profileable {
+    /**
+     * A lock instead of {@code synchronized} because the lookup is blocking and
+     * virtual threads can't unmount while holding a monitor (before Java 24).
+     */
+    private final ReentrantLock lock = new ReentrantLock();
     protected GameProfile cache;
     protected Throwable lastError;
 
     @Override
-    public final synchronized GameProfile getProfile() {
-        // Synchronized in case two threads try to access the
+    public final GameProfile getProfile() {
+        // Locked in case two threads try to access the
         // same profileable that is not cached yet. That way, other threads
         // will wait for the first one to cache the results so the other threads
         // can start accessing the cache instantly instead of sending multiple
         // requests for the same data.
-        // This of course doesn't fix the issue if two separate Profileables
-        // are used for a single value and both are somehow requested at the same time.
+        // Separate Profileables that are used for a single value and requested
+        // at the same time are handled by MojangAPI, which shares in-flight requests.
+        lock.lock();
+        try {
+            return getProfileLocked();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private GameProfile getProfileLocked() {
         if (hasExpired(true)) {
             lastError = null;
             cache = null;
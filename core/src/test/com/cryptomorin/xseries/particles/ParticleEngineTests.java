@@ -0,0 +1,131 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025 Crypto Morin
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+ * PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE
+ * FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.cryptomorin.xseries.particles;
+
+import com.cryptomorin.xseries.test.server.EmbeddedPlugin;
+import org.bukkit.plugin.Plugin;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.cryptomorin.xseries.test.util.XLogger.log;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The tests run on the main thread, so the async timer never ticks while they're running
+ * and the ticks are run manually instead.
+ */
+public final class ParticleEngineTests {
+    public static void test() {
+        log("Testing ParticleEngine...");
+        Plugin plugin = EmbeddedPlugin.createInstance();
+        try {
+            startStepStop(plugin);
+            stopWaitsForTick(plugin);
+            stopFromStep(plugin);
+        } catch (ExecutionException | InterruptedException | TimeoutException e) {
+            throw new IllegalStateException("Failed to test ParticleEngine", e);
+        }
+    }
+
+    private static void startStepStop(Plugin plugin) {
+        ParticleEngine engine = new ParticleEngine(plugin, 1, TimeUnit.SECONDS, 2);
+        AtomicInteger forever = new AtomicInteger(), finite = new AtomicInteger();
+        ParticleEngine.Animation endless = engine.schedule(forever::incrementAndGet);
+        ParticleEngine.Animation finished = engine.schedule(() -> finite.incrementAndGet() < 2);
+        assertEquals(2, engine.getActiveAnimations());
+
+        engine.start();
+        assertTrue(engine.isRunning());
+        assertThrows(IllegalStateException.class, engine::start, "Engine was started twice");
+
+        for (int i = 0; i < 3; i++) engine.tick();
+        assertEquals(3, forever.get());
+        assertEquals(2, finite.get(), "Animation was stepped after it finished");
+        assertTrue(finished.isCancelled());
+        assertFalse(endless.isCancelled());
+        assertEquals(1, engine.getActiveAnimations());
+        assertEquals(3, engine.getTicks());
+
+        engine.stop();
+        assertFalse(engine.isRunning());
+        assertTrue(endless.isCancelled());
+        assertEquals(0, engine.getActiveAnimations());
+
+        engine.tick();
+        assertEquals(3, forever.get(), "Animation was stepped after the engine was stopped");
+    }
+
+    private static void stopWaitsForTick(Plugin plugin) throws ExecutionException, InterruptedException, TimeoutException {
+        ParticleEngine engine = new ParticleEngine(plugin, 1, TimeUnit.SECONDS, 1).start();
+        CountDownLatch stepping = new CountDownLatch(1), release = new CountDownLatch(1);
+        AtomicInteger steps = new AtomicInteger();
+        ParticleEngine.Animation animation = engine.schedule(() -> {
+            steps.incrementAndGet();
+            stepping.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<?> tick = executor.submit(engine::tick);
+            assertTrue(stepping.await(5, TimeUnit.SECONDS), "Animation was never stepped");
+
+            Future<?> stop = executor.submit(engine::stop);
+            assertThrows(TimeoutException.class, () -> stop.get(100, TimeUnit.MILLISECONDS), "Engine stopped before its tick ended");
+            assertFalse(animation.isCancelled());
+
+            release.countDown();
+            tick.get(5, TimeUnit.SECONDS);
+            stop.get(5, TimeUnit.SECONDS);
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+
+        assertTrue(animation.isCancelled());
+        assertEquals(0, engine.getActiveAnimations());
+        assertEquals(1, steps.get());
+    }
+
+    private static void stopFromStep(Plugin plugin) {
+        ParticleEngine engine = new ParticleEngine(plugin, 1, TimeUnit.SECONDS, 1).start();
+        AtomicInteger steps = new AtomicInteger();
+        ParticleEngine.Animation stopping = engine.schedule(() -> {
+            steps.incrementAndGet();
+            engine.stop();
+        });
+        ParticleEngine.Animation other = engine.schedule(steps::incrementAndGet);
+
+        engine.tick();
+        assertFalse(engine.isRunning());
+        assertEquals(2, steps.get(), "Tick didn't finish after the engine was stopped by a step");
+        assertTrue(stopping.isCancelled());
+        assertTrue(other.isCancelled());
+        assertEquals(0, engine.getActiveAnimations());
+    }
+}
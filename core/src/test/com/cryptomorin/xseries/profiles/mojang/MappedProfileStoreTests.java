@@ -0,0 +1,233 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025 Crypto Morin
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+ * PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE
+ * FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.cryptomorin.xseries.profiles.mojang;
+
+import com.cryptomorin.xseries.profiles.PlayerProfiles;
+import com.mojang.authlib.GameProfile;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static com.cryptomorin.xseries.test.util.XLogger.log;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * In the same package as {@link MappedProfileStore} to inspect the records of the file.
+ */
+public final class MappedProfileStoreTests {
+    private static final Duration EXPIRATION = Duration.ofDays(1);
+
+    public static void test() {
+        log("Testing MappedProfileStore...");
+        try {
+            Path folder = Files.createTempDirectory("xseries-profile-store");
+            try {
+                roundTrip(folder.resolve("round-trip.dat"));
+                negativeEntries(folder.resolve("negative.dat"));
+                expiresOnLoad(folder.resolve("expiration.dat"));
+                discardsCorruptedTail(folder.resolve("corrupted.dat"));
+                discardsTornLength(folder.resolve("torn.dat"));
+                compacts(folder.resolve("compaction.dat"));
+            } finally {
+                File[] files = folder.toFile().listFiles();
+                if (files != null) for (File file : files) file.delete();
+                Files.deleteIfExists(folder);
+            }
+        } catch (IOException | InterruptedException e) {
+            throw new IllegalStateException("Failed to test MappedProfileStore", e);
+        }
+    }
+
+    private static void roundTrip(Path path) throws IOException {
+        UUID id = UUID.randomUUID();
+        GameProfile profile = PlayerProfiles.createGameProfile(id, "XSeriesTest");
+        PlayerProfiles.setTexturesProperty(profile, "dGV4dHVyZXM=");
+
+        try (MappedProfileStore store = MappedProfileStore.open(path, EXPIRATION)) {
+            store.putProfile(id, profile);
+            put(store, "XSeriesTest", id);
+            assertSame(profile, store.getProfile(id).getValue());
+        }
+
+        try (MappedProfileStore store = MappedProfileStore.open(path, EXPIRATION)) {
+            GameProfile loaded = store.getProfile(id).getValue();
+            assertNotNull(loaded);
+            assertEquals(id, loaded.getId());
+            assertEquals("XSeriesTest", loaded.getName());
+            assertEquals("dGV4dHVyZXM=", PlayerProfiles.getTextureValue(loaded));
+
+            // Usernames are case-insensitive, but the case-corrected name is kept.
+            assertEquals(id, store.getUsername("xseriestest").getValue().getRealId());
+            assertEquals(id, store.getUsername("XSERIESTEST").getValue().getRealId());
+            assertEquals("XSeriesTest", store.getUsername("xseriestest").getValue().getName());
+        }
+    }
+
+    private static void negativeEntries(Path path) throws IOException {
+        UUID id = UUID.randomUUID();
+        try (MappedProfileStore store = MappedProfileStore.open(path, EXPIRATION)) {
+            store.putProfile(id, null);
+            store.putUsername("NoSuchPlayer", null);
+        }
+
+        try (MappedProfileStore store = MappedProfileStore.open(path, EXPIRATION)) {
+            ProfileStore.Entry<GameProfile> profile = store.getProfile(id);
+            assertNotNull(profile, "Negative profile entry wasn't stored");
+            assertFalse(profile.exists());
+
+            ProfileStore.Entry<ProfileStore.Username> username = store.getUsername("nosuchplayer");
+            assertNotNull(username, "Negative username entry wasn't stored");
+            assertFalse(username.exists());
+
+            assertNull(store.getUsername("NeverStored"));
+        }
+    }
+
+    private static void expiresOnLoad(Path path) throws IOException, InterruptedException {
+        UUID id = UUID.randomUUID();
+        try (MappedProfileStore store = MappedProfileStore.open(path, EXPIRATION)) {
+            put(store, "Expired", id);
+        }
+
+        Thread.sleep(20);
+        try (MappedProfileStore store = MappedProfileStore.open(path, Duration.ofMillis(10))) {
+            assertNull(store.getUsername("Expired"), "Expired entry was loaded");
+        }
+        try (MappedProfileStore store = MappedProfileStore.open(path, EXPIRATION)) {
+            assertEquals(id, store.getUsername("Expired").getValue().getRealId());
+        }
+    }
+
+    private static void discardsCorruptedTail(Path path) throws IOException {
+        UUID first = UUID.randomUUID(), second = UUID.randomUUID(), third = UUID.randomUUID();
+        try (MappedProfileStore store = MappedProfileStore.open(path, EXPIRATION)) {
+            put(store, "First", first);
+            put(store, "Second", second);
+        }
+
+        List<Integer> records = recordPositions(path);
+        assertEquals(2, records.size());
+
+        // Simulate a torn write by changing the last byte of the last record so its CRC doesn't match.
+        int last = records.get(1);
+        int length = ByteBuffer.wrap(Files.readAllBytes(path)).getInt(last);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long position = last + MappedProfileStore.RECORD_HEADER_SIZE + length - 1;
+            ByteBuffer data = ByteBuffer.allocate(1);
+            channel.read(data, position);
+            data.put(0, (byte) ~data.get(0));
+            data.rewind();
+            channel.write(data, position);
+        }
+
+        try (MappedProfileStore store = MappedProfileStore.open(path, EXPIRATION)) {
+            assertEquals(first, store.getUsername("First").getValue().getRealId());
+            assertNull(store.getUsername("Second"), "Corrupted record was loaded");
+            put(store, "Third", third);
+        }
+
+        // The corrupted record must be overwritten, not skipped.
+        assertEquals(records.subList(0, 2), recordPositions(path));
+        try (MappedProfileStore store = MappedProfileStore.open(path, EXPIRATION)) {
+            assertEquals(first, store.getUsername("First").getValue().getRealId());
+            assertNull(store.getUsername("Second"));
+            assertEquals(third, store.getUsername("Third").getValue().getRealId());
+        }
+    }
+
+    private static void discardsTornLength(Path path) throws IOException {
+        UUID first = UUID.randomUUID(), second = UUID.randomUUID();
+        try (MappedProfileStore store = MappedProfileStore.open(path, EXPIRATION)) {
+            put(store, "First", first);
+            put(store, "Second", first);
+        }
+
+        // The length isn't covered by the CRC, a huge length must not be allocated.
+        int last = recordPositions(path).get(1);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer length = ByteBuffer.allocate(4);
+            length.putInt(0, Integer.MAX_VALUE - 4);
+            channel.write(length, last);
+        }
+
+        try (MappedProfileStore store = MappedProfileStore.open(path, EXPIRATION)) {
+            assertEquals(first, store.getUsername("First").getValue().getRealId());
+            assertNull(store.getUsername("Second"), "Record with a torn length was loaded");
+            put(store, "Second", second);
+        }
+
+        assertEquals(2, recordPositions(path).size());
+        try (MappedProfileStore store = MappedProfileStore.open(path, EXPIRATION)) {
+            assertEquals(second, store.getUsername("Second").getValue().getRealId());
+        }
+    }
+
+    private static void compacts(Path path) throws IOException {
+        int threshold = MappedProfileStore.COMPACTION_THRESHOLD;
+        try (MappedProfileStore store = MappedProfileStore.open(path, EXPIRATION)) {
+            put(store, "Kept", UUID.randomUUID());
+            for (int i = 1; i < threshold - 1; i++) put(store, "Replaced", UUID.randomUUID());
+            store.flush();
+            assertEquals(threshold - 1, recordPositions(path).size(), "Compacted before the threshold");
+
+            UUID latest = UUID.randomUUID();
+            put(store, "Replaced", latest);
+            store.flush();
+            assertEquals(2, recordPositions(path).size(), "Not compacted at the threshold");
+            assertEquals(latest, store.getUsername("Replaced").getValue().getRealId());
+        }
+
+        try (MappedProfileStore store = MappedProfileStore.open(path, EXPIRATION)) {
+            assertNotNull(store.getUsername("Kept"));
+            assertNotNull(store.getUsername("Replaced"));
+            put(store, "Added", UUID.randomUUID());
+        }
+        assertEquals(3, recordPositions(path).size());
+    }
+
+    private static void put(ProfileStore store, String username, UUID realId) {
+        store.putUsername(username, new ProfileStore.Username(username, realId));
+    }
+
+    private static List<Integer> recordPositions(Path path) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(path));
+        List<Integer> positions = new ArrayList<>();
+        int position = MappedProfileStore.HEADER_SIZE;
+        while (position + MappedProfileStore.RECORD_HEADER_SIZE <= buffer.capacity()) {
+            int length = buffer.getInt(position);
+            if (length <= 0) break;
+            positions.add(position);
+            position += MappedProfileStore.RECORD_HEADER_SIZE + length;
+        }
+        return positions;
+    }
+}
@@ -0,0 +1,139 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025 Crypto Morin
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+ * PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE
+ * FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.cryptomorin.xseries.profiles.mojang;
+
+import com.google.gson.JsonElement;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.cryptomorin.xseries.test.util.XLogger.log;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Sends the requests to a local server instead of Mojang's.
+ */
+public final class MinecraftClientTests {
+    private static final Duration RATE_LIMIT = Duration.ofMillis(200);
+
+    public static void test() {
+        log("Testing MinecraftClient...");
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        HttpServer server = null;
+        try {
+            server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+            String baseURL = "http://" + server.getAddress().getHostString() + ':' + server.getAddress().getPort() + '/';
+            AtomicInteger limited = new AtomicInteger(), failed = new AtomicInteger();
+            CountDownLatch firstFailure = new CountDownLatch(1);
+
+            server.createContext("/found", exchange -> respond(exchange, 200, "{\"name\":\"XSeries\"}"));
+            server.createContext("/missing", exchange -> respond(exchange, 404, "{\"error\":\"Not Found\"}"));
+            server.createContext("/limited", exchange -> {
+                if (limited.getAndIncrement() == 0) respond(exchange, 429, "{\"error\":\"Too Many Requests\"}");
+                else respond(exchange, 200, "{\"name\":\"XSeries\"}");
+            });
+            server.createContext("/failing", exchange -> {
+                failed.incrementAndGet();
+                respond(exchange, 500, "{\"error\":\"Internal Server Error\"}");
+                firstFailure.countDown();
+            });
+            server.start();
+
+            found(baseURL, executor);
+            missing(baseURL, executor);
+            retriesAfterRateLimit(baseURL, executor, limited);
+            cancellingStopsRetries(baseURL, executor, failed, firstFailure);
+        } catch (IOException | ExecutionException | InterruptedException | TimeoutException e) {
+            throw new IllegalStateException("Failed to test MinecraftClient", e);
+        } finally {
+            if (server != null) server.stop(0);
+            executor.shutdownNow();
+        }
+    }
+
+    private static MinecraftClient client(String baseURL) {
+        return new MinecraftClient("GET", baseURL, new RateLimiter(1, RATE_LIMIT));
+    }
+
+    private static void found(String baseURL, Executor executor) throws IOException, ExecutionException, InterruptedException, TimeoutException {
+        JsonElement sync = client(baseURL).session(null).append("found").request();
+        assertNotNull(sync);
+        assertEquals("XSeries", sync.getAsJsonObject().get("name").getAsString());
+
+        JsonElement async = client(baseURL).session(null).append("found").requestAsync(executor).get(5, TimeUnit.SECONDS);
+        assertNotNull(async);
+        assertEquals("XSeries", async.getAsJsonObject().get("name").getAsString());
+    }
+
+    private static void missing(String baseURL, Executor executor) throws IOException, ExecutionException, InterruptedException, TimeoutException {
+        assertNull(client(baseURL).session(null).append("missing").request());
+        assertNull(client(baseURL).session(null).append("missing").requestAsync(executor).get(5, TimeUnit.SECONDS));
+    }
+
+    private static void retriesAfterRateLimit(String baseURL, Executor executor, AtomicInteger requests) throws ExecutionException, InterruptedException, TimeoutException {
+        long start = System.nanoTime();
+        JsonElement response = client(baseURL).session(null)
+                .append("limited")
+                .retry(1, Duration.ofMinutes(1)) // Not used for rate limits.
+                .requestAsync(executor)
+                .get(5, TimeUnit.SECONDS);
+        long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertNotNull(response, "Rate limited request wasn't retried");
+        assertEquals(2, requests.get());
+        assertTrue(elapsed >= RATE_LIMIT.toMillis(), "Rate limited request was retried before the rate limit was over: " + elapsed + "ms");
+    }
+
+    private static void cancellingStopsRetries(String baseURL, Executor executor, AtomicInteger requests, CountDownLatch firstRequest)
+            throws InterruptedException {
+        Duration retryDelay = Duration.ofMillis(300);
+        CompletableFuture<JsonElement> future = client(baseURL).session(null)
+                .append("failing")
+                .retry(5, retryDelay)
+                .requestAsync(executor);
+
+        assertTrue(firstRequest.await(5, TimeUnit.SECONDS), "Request was never sent");
+        future.cancel(false);
+        Thread.sleep(retryDelay.toMillis() * 3);
+
+        assertTrue(future.isCancelled());
+        assertEquals(1, requests.get(), "Request was retried after the future was cancelled");
+    }
+
+    private static void respond(HttpExchange exchange, int code, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(code, bytes.length);
+        try (OutputStream output = exchange.getResponseBody()) {
+            output.write(bytes);
+        }
+    }
+}
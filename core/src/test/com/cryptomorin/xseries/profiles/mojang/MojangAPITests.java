@@ -0,0 +1,165 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025 Crypto Morin
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+ * PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE
+ * FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.cryptomorin.xseries.profiles.mojang;
+
+import com.cryptomorin.xseries.profiles.exceptions.MojangAPIException;
+import com.google.gson.JsonElement;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.cryptomorin.xseries.test.util.XLogger.log;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Sends concurrent lookups for the same key to a local server and checks that only one of them reaches it.
+ */
+public final class MojangAPITests {
+    private static final int LOOKUPS = 8;
+
+    public static void test() {
+        log("Testing MojangAPI...");
+        ExecutorService executor = Executors.newFixedThreadPool(LOOKUPS);
+        HttpServer server = null;
+        try {
+            server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+            String baseURL = "http://" + server.getAddress().getHostString() + ':' + server.getAddress().getPort() + '/';
+            AtomicInteger found = new AtomicInteger(), failed = new AtomicInteger();
+            CountDownLatch foundRelease = new CountDownLatch(1), failingRelease = new CountDownLatch(1);
+
+            // Responses are held back until all the lookups are waiting, so they can't miss the first one.
+            server.createContext("/found", exchange -> {
+                found.incrementAndGet();
+                await(foundRelease);
+                respond(exchange, 200, "{\"name\":\"XSeries\"}");
+            });
+            server.createContext("/failing", exchange -> {
+                failed.incrementAndGet();
+                await(failingRelease);
+                respond(exchange, 500, "{\"error\":\"Internal Server Error\"}");
+            });
+            server.start();
+
+            coalescesLookups(baseURL, executor, found, foundRelease);
+            errorsReachAllLookups(baseURL, executor, failed, failingRelease);
+        } catch (IOException | ExecutionException | InterruptedException | TimeoutException e) {
+            throw new IllegalStateException("Failed to test MojangAPI", e);
+        } finally {
+            if (server != null) server.stop(0);
+            executor.shutdownNow();
+        }
+    }
+
+    private static void coalescesLookups(String baseURL, ExecutorService executor, AtomicInteger requests, CountDownLatch release)
+            throws ExecutionException, InterruptedException, TimeoutException {
+        Map<String, CompletableFuture<JsonElement>> inFlight = new ConcurrentHashMap<>();
+        long coalesced = MojangAPI.getCoalescedRequests();
+
+        List<Future<JsonElement>> lookups = lookup(baseURL, "found", executor, inFlight);
+        awaitCoalesced(coalesced + LOOKUPS - 1);
+        release.countDown();
+
+        for (Future<JsonElement> lookup : lookups) {
+            JsonElement response = lookup.get(5, TimeUnit.SECONDS);
+            assertNotNull(response);
+            assertEquals("XSeries", response.getAsJsonObject().get("name").getAsString());
+        }
+
+        assertEquals(1, requests.get(), "Concurrent lookups for the same key sent more than one request");
+        assertEquals(LOOKUPS - 1, MojangAPI.getCoalescedRequests() - coalesced);
+        assertTrue(inFlight.isEmpty(), "Finished request was not removed: " + inFlight);
+    }
+
+    private static void errorsReachAllLookups(String baseURL, ExecutorService executor, AtomicInteger requests, CountDownLatch release)
+            throws InterruptedException, TimeoutException {
+        Map<String, CompletableFuture<JsonElement>> inFlight = new ConcurrentHashMap<>();
+        long coalesced = MojangAPI.getCoalescedRequests();
+
+        List<Future<JsonElement>> lookups = lookup(baseURL, "failing", executor, inFlight);
+        awaitCoalesced(coalesced + LOOKUPS - 1);
+        release.countDown();
+
+        Throwable error = null;
+        for (Future<JsonElement> lookup : lookups) {
+            try {
+                lookup.get(5, TimeUnit.SECONDS);
+                fail("Lookup of a failing request didn't throw an error");
+            } catch (ExecutionException ex) {
+                Throwable cause = ex.getCause();
+                assertInstanceOf(MojangAPIException.class, cause);
+                if (error == null) error = cause;
+                else assertSame(error, cause, "Coalesced lookups didn't receive the error of the request they waited for");
+            }
+        }
+
+        assertEquals(1, requests.get(), "Concurrent lookups for the same key sent more than one request");
+        assertEquals(LOOKUPS - 1, MojangAPI.getCoalescedRequests() - coalesced);
+        assertTrue(inFlight.isEmpty(), "Failed request was not removed: " + inFlight);
+    }
+
+    private static List<Future<JsonElement>> lookup(String baseURL, String path, ExecutorService executor,
+                                                    Map<String, CompletableFuture<JsonElement>> inFlight) {
+        MinecraftClient client = new MinecraftClient("GET", baseURL, new RateLimiter(LOOKUPS, Duration.ofMinutes(1)));
+        List<Future<JsonElement>> lookups = new ArrayList<>(LOOKUPS);
+        for (int i = 0; i < LOOKUPS; i++) {
+            lookups.add(executor.submit(() -> MojangAPI.singleFlight(inFlight, path,
+                    () -> client.session(null).append(path).request())));
+        }
+        return lookups;
+    }
+
+    private static void awaitCoalesced(long count) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (MojangAPI.getCoalescedRequests() < count && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void respond(HttpExchange exchange, int code, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(code, bytes.length);
+        try (OutputStream output = exchange.getResponseBody()) {
+            output.write(bytes);
+        }
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025 Crypto Morin
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+ * PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE
+ * FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.cryptomorin.xseries.profiles.mojang;
+
+import java.time.Duration;
+import java.util.concurrent.*;
+import java.util.function.IntSupplier;
+
+import static com.cryptomorin.xseries.test.util.XLogger.log;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Each test uses its own executor so the default executor isn't shut down.
+ */
+public final class PlayerProfileFetcherThreadTests {
+    public static void test() {
+        log("Testing PlayerProfileFetcherThread...");
+        ExecutorService previous = PlayerProfileFetcherThread.getExecutor();
+        try {
+            counters();
+            shutdown();
+            shutdownTimeout();
+        } catch (InterruptedException | ExecutionException | TimeoutException e) {
+            throw new IllegalStateException("Failed to test PlayerProfileFetcherThread", e);
+        } finally {
+            PlayerProfileFetcherThread.setExecutor(previous);
+        }
+    }
+
+    private static void counters() throws InterruptedException, ExecutionException, TimeoutException {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        PlayerProfileFetcherThread.setExecutor(executor);
+        try {
+            CountDownLatch started = new CountDownLatch(1), release = new CountDownLatch(1);
+            Future<?> running = PlayerProfileFetcherThread.EXECUTOR.submit(() -> {
+                started.countDown();
+                release.await();
+                return null;
+            });
+            Future<?> queued = PlayerProfileFetcherThread.EXECUTOR.submit(() -> {});
+
+            assertTrue(started.await(5, TimeUnit.SECONDS), "Task never started");
+            assertEquals(1, PlayerProfileFetcherThread.getActiveTasks());
+            assertEquals(1, PlayerProfileFetcherThread.getQueuedTasks());
+
+            release.countDown();
+            running.get(5, TimeUnit.SECONDS);
+            queued.get(5, TimeUnit.SECONDS);
+            awaitZero(PlayerProfileFetcherThread::getActiveTasks, "active");
+            assertEquals(0, PlayerProfileFetcherThread.getQueuedTasks());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void shutdown() {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        PlayerProfileFetcherThread.setExecutor(executor);
+        PlayerProfileFetcherThread.EXECUTOR.execute(() -> {});
+
+        assertTrue(PlayerProfileFetcherThread.shutdown(Duration.ofSeconds(5)), "Finished lookups didn't shut down in time");
+        assertTrue(executor.isTerminated());
+        assertThrows(RejectedExecutionException.class, () -> PlayerProfileFetcherThread.EXECUTOR.execute(() -> {}));
+        assertEquals(0, PlayerProfileFetcherThread.getQueuedTasks());
+    }
+
+    private static void shutdownTimeout() throws InterruptedException {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        PlayerProfileFetcherThread.setExecutor(executor);
+        CountDownLatch started = new CountDownLatch(1), interrupted = new CountDownLatch(1);
+        PlayerProfileFetcherThread.EXECUTOR.execute(() -> {
+            started.countDown();
+            try {
+                new CountDownLatch(1).await();
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+            }
+        });
+        PlayerProfileFetcherThread.EXECUTOR.execute(() -> {});
+        assertTrue(started.await(5, TimeUnit.SECONDS), "Task never started");
+
+        assertFalse(PlayerProfileFetcherThread.shutdown(Duration.ofMillis(100)), "Running lookup finished unexpectedly");
+        assertTrue(interrupted.await(5, TimeUnit.SECONDS), "Running lookup wasn't interrupted");
+        assertEquals(0, PlayerProfileFetcherThread.getQueuedTasks(), "Cancelled lookups are still counted as queued");
+        awaitZero(PlayerProfileFetcherThread::getActiveTasks, "active");
+    }
+
+    private static void awaitZero(IntSupplier counter, String name) throws InterruptedException {
+        // The counters are updated after the task itself is done.
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (counter.getAsInt() != 0) {
+            if (System.nanoTime() - deadline > 0) fail("There are still " + counter.getAsInt() + ' ' + name + " tasks");
+            Thread.sleep(10);
+        }
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025 Crypto Morin
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+ * PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE
+ * FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.cryptomorin.xseries.profiles.mojang;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static com.cryptomorin.xseries.test.util.XLogger.log;
+import static org.junit.jupiter.api.Assertions.*;
+
+public final class RateLimiterTests {
+    public static void test() {
+        log("Testing RateLimiter...");
+        try {
+            burst();
+            slidingWindow();
+            instantRateLimit();
+            waitsAfterInstantRateLimit();
+        } catch (ExecutionException | InterruptedException | TimeoutException e) {
+            throw new IllegalStateException("Failed to test RateLimiter", e);
+        }
+    }
+
+    private static void burst() {
+        RateLimiter limiter = new RateLimiter(5, Duration.ofMinutes(1));
+        for (int i = 0; i < 5; i++) assertTrue(limiter.acquire(), "Request " + i + " was not granted");
+        assertFalse(limiter.acquire(), "More requests than the limit were granted");
+        assertEquals(0, limiter.getRemainingRequests());
+
+        // The window slides, so the first request is freed only when it's older than the whole period.
+        Duration next = limiter.timeUntilNextFreeRequest();
+        assertTrue(next.compareTo(Duration.ofSeconds(59)) >= 0 && next.compareTo(Duration.ofMinutes(1)) <= 0,
+                "Next request should be freed after the whole period: " + next);
+    }
+
+    private static void slidingWindow() throws InterruptedException {
+        int maxRequests = 10;
+        Duration per = Duration.ofMillis(500);
+        RateLimiter limiter = new RateLimiter(maxRequests, per);
+
+        long start = System.nanoTime();
+        int firstWindow = countGrants(limiter, start, per.toNanos() * 9 / 10);
+        assertEquals(maxRequests, firstWindow, "Requests granted within the first window");
+
+        // Two windows can't have more than twice the limit, no matter when the requests are freed.
+        int total = firstWindow + countGrants(limiter, start, per.toNanos() * 19 / 10);
+        assertTrue(total <= 2 * maxRequests, "Granted " + total + " requests in less than two windows of " + maxRequests);
+        assertTrue(total > maxRequests, "Requests were never freed");
+    }
+
+    private static int countGrants(RateLimiter limiter, long start, long until) throws InterruptedException {
+        int grants = 0;
+        while (System.nanoTime() - start < until) {
+            if (limiter.acquire()) grants++;
+            else Thread.sleep(1);
+        }
+        return grants;
+    }
+
+    private static void instantRateLimit() {
+        Duration per = Duration.ofMinutes(1);
+        RateLimiter limiter = new RateLimiter(600, per);
+        limiter.instantRateLimit();
+
+        assertFalse(limiter.acquire(), "Request was granted right after being rate limited");
+        assertEquals(0, limiter.getRemainingRequests());
+
+        // Nothing should be granted for a full period, not just a single interval.
+        Duration next = limiter.timeUntilNextFreeRequest();
+        assertTrue(next.compareTo(per.minusSeconds(1)) >= 0 && next.compareTo(per) <= 0,
+                "Rate limit should last for " + per + ": " + next);
+    }
+
+    private static void waitsAfterInstantRateLimit() throws ExecutionException, InterruptedException, TimeoutException {
+        Duration per = Duration.ofMillis(200);
+        RateLimiter limiter = new RateLimiter(10, per);
+        limiter.instantRateLimit();
+
+        long start = System.nanoTime();
+        limiter.acquireAsync().get(5, TimeUnit.SECONDS);
+        long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        assertTrue(elapsed >= per.toMillis() - 1, "Request was granted before the rate limit was over: " + elapsed + "ms");
+    }
+}
@@ -29,9 +29,15 @@ import com.cryptomorin.xseries.base.XRegistry;
 import com.cryptomorin.xseries.messages.ActionBar;
 import com.cryptomorin.xseries.messages.Titles;
 import com.cryptomorin.xseries.particles.ParticleDisplay;
+import com.cryptomorin.xseries.particles.ParticleEngineTests;
 import com.cryptomorin.xseries.particles.XParticle;
 import com.cryptomorin.xseries.profiles.builder.XSkull;
+import com.cryptomorin.xseries.profiles.mojang.MappedProfileStoreTests;
+import com.cryptomorin.xseries.profiles.mojang.MinecraftClientTests;
 import com.cryptomorin.xseries.profiles.mojang.MojangAPI;
+import com.cryptomorin.xseries.profiles.mojang.MojangAPITests;
+import com.cryptomorin.xseries.profiles.mojang.PlayerProfileFetcherThreadTests;
+import com.cryptomorin.xseries.profiles.mojang.RateLimiterTests;
 import com.cryptomorin.xseries.profiles.objects.Profileable;
 import com.cryptomorin.xseries.profiles.objects.transformer.ProfileTransformer;
 import com.cryptomorin.xseries.reflection.XReflection;
@@ -64,13 +70,19 @@ import org.bukkit.potion.PotionType;
 import org.junit.jupiter.api.Assertions;
 import org.opentest4j.AssertionFailedError;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
 import java.io.File;
 import java.io.IOException;
 import java.net.URISyntaxException;
 import java.net.URL;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.*;
+import java.util.concurrent.*;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
 
@@ -94,6 +106,8 @@ public final class XSeriesTests {
         DifferenceHelper.versionDifference();
 
         testRegistry();
+        testRegistryConcurrency();
+        testRegistrySnapshot();
         testXMaterial();
         testXSound();
         testXPotion();
@@ -105,6 +119,7 @@ public final class XSeriesTests {
         testXTag();
         wrapperTest();
         testReflection();
+        testProfiles();
 
         if (Constants.TEST_MOJANG_API) testSkulls();
         else {
@@ -140,6 +155,142 @@ public final class XSeriesTests {
         assertNotNull(XRegistry.rawRegistryOf(XAttribute.class));
     }
 
+    /**
+     * The header of a registry snapshot file, see {@code RegistrySnapshot}
+     */
+    private static final int SNAPSHOT_MAGIC = 0x58535253, SNAPSHOT_FORMAT = 1;
+
+    /**
+     * Saves and loads a snapshot, and makes sure snapshots of other versions are ignored.
+     * The hints of registries that don't exist are kept as they are, so they're used to check what was loaded.
+     */
+    private static void testRegistrySnapshot() {
+        log("Testing XRegistry snapshots...");
+        Path file = Paths.get(System.getProperty("java.io.tmpdir"), "xseries-registry-" + System.nanoTime() + ".snapshot");
+        String registry = "com.cryptomorin.xseries.test.UnknownRegistry";
+        try {
+            assertFalse(XRegistry.useSnapshot(file), "Loaded a snapshot that doesn't exist");
+            XRegistry.saveSnapshot();
+            assertTrue(Files.isRegularFile(file), "Snapshot wasn't saved");
+
+            String key;
+            try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+                assertEquals(SNAPSHOT_MAGIC, in.readInt());
+                assertEquals(SNAPSHOT_FORMAT, in.readInt());
+                key = in.readUTF();
+            }
+            assertTrue(XRegistry.useSnapshot(file), "Failed to load a saved snapshot");
+
+            writeSnapshot(file, key, registry, "NAME", 2);
+            assertTrue(XRegistry.useSnapshot(file), "Failed to load a valid snapshot");
+            XRegistry.saveSnapshot();
+            assertEquals(Collections.singletonMap("NAME", 2), readSnapshot(file).get(registry), "Loaded hints were not saved again");
+
+            writeSnapshot(file, key + "-stale", registry, "NAME", 2);
+            assertFalse(XRegistry.useSnapshot(file), "Loaded a snapshot of another version");
+            XRegistry.saveSnapshot();
+            assertNull(readSnapshot(file).get(registry), "Hints of a stale snapshot were saved again");
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to test XRegistry snapshots", e);
+        } finally {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        }
+    }
+
+    private static void writeSnapshot(Path file, String key, String registry, String name, int index) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)))) {
+            out.writeInt(SNAPSHOT_MAGIC);
+            out.writeInt(SNAPSHOT_FORMAT);
+            out.writeUTF(key);
+            out.writeInt(1);
+            out.writeUTF(registry);
+            out.writeInt(1);
+            out.writeUTF(name);
+            out.writeByte(index);
+        }
+    }
+
+    private static Map<String, Map<String, Integer>> readSnapshot(Path file) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            assertEquals(SNAPSHOT_MAGIC, in.readInt());
+            assertEquals(SNAPSHOT_FORMAT, in.readInt());
+            in.readUTF();
+
+            int registries = in.readInt();
+            Map<String, Map<String, Integer>> snapshot = new HashMap<>(registries);
+            for (int i = 0; i < registries; i++) {
+                String registry = in.readUTF();
+                int entries = in.readInt();
+                Map<String, Integer> hints = new HashMap<>(entries);
+                for (int j = 0; j < entries; j++) hints.put(in.readUTF(), (int) in.readByte());
+                snapshot.put(registry, hints);
+            }
+            return snapshot;
+        }
+    }
+
+    /**
+     * Multiple threads look up (and auto-register unknown values) while iterating
+     * the registry at the same time. All threads must see the exact same mappings
+     * and no entries should get lost.
+     */
+    private static void testRegistryConcurrency() {
+        log("Testing XRegistry concurrency...");
+        List<Sound> sounds = new ArrayList<>();
+        for (Object sound : values(Sound.class)) {
+            if (sound == null || sound.toString().startsWith("LEGACY_")) continue;
+            sounds.add((Sound) sound);
+        }
+
+        int threadCount = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Map<Sound, XSound>>> results = new ArrayList<>(threadCount);
+
+        try {
+            for (int i = 0; i < threadCount; i++) {
+                int offset = i;
+                results.add(executor.submit(() -> {
+                    start.await();
+                    Map<Sound, XSound> mapped = new IdentityHashMap<>(sounds.size());
+                    for (int j = 0; j < sounds.size(); j++) {
+                        // Each thread starts from a different position to increase contention.
+                        Sound sound = sounds.get((j + offset * 31) % sounds.size());
+                        mapped.put(sound, XSound.of(sound));
+                        assertPresent(XSound.of(XRegistry.getBukkitName(sound)), "Lost name mapping for " + sound);
+
+                        // noinspection StatementWithEmptyBody
+                        for (XSound ignored : XSound.REGISTRY) ; // Would throw ConcurrentModificationException
+                    }
+                    return mapped;
+                }));
+            }
+            start.countDown();
+
+            Map<Sound, XSound> first = null;
+            for (Future<Map<Sound, XSound>> result : results) {
+                Map<Sound, XSound> mapped = result.get(2, TimeUnit.MINUTES);
+                if (first == null) first = mapped;
+                for (Sound sound : sounds) {
+                    assertSame(first.get(sound), mapped.get(sound), () -> "Different mappings across threads for " + sound);
+                }
+            }
+        } catch (InterruptedException | ExecutionException | TimeoutException e) {
+            throw new IllegalStateException("Registry concurrency test failed", e);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        Collection<XSound> values = XSound.REGISTRY.getValues();
+        for (Sound sound : sounds) {
+            assertTrue(values.contains(XSound.of(sound)), () -> "Lost registered value for " + sound);
+        }
+    }
+
     private static void wrapperTest() {
         log("Testing wrappers...");
         Chunk chunk = Constants.getMainWorld().getLoadedChunks()[0];
@@ -190,6 +341,15 @@ public final class XSeriesTests {
         }
     }
 
+    private static void testProfiles() {
+        log("Testing profiles...");
+        MappedProfileStoreTests.test();
+        RateLimiterTests.test();
+        MinecraftClientTests.test();
+        MojangAPITests.test();
+        PlayerProfileFetcherThreadTests.test();
+    }
+
     private static void testXTag() {
         log("Testing XTag...");
         assertPresent(XTag.getTag("INVENTORY_NOT_DISPLAYABLE"));
@@ -198,6 +358,19 @@ public final class XSeriesTests {
         assertTrue(XTag.CORALS.isTagged(XMaterial.TUBE_CORAL));
         assertTrue(XTag.LOGS_THAT_BURN.isTagged(XMaterial.STRIPPED_ACACIA_LOG));
         assertFalse(XTag.ANVIL.isTagged(XMaterial.BEDROCK));
+
+        List<XTag.Matcher<Object>> matchers = XTag.stringMatcher(Arrays.asList(
+                "CONTAINS:CHEST", "REGEX:^.+_WOOL$", "TAG:CORALS", "BEDROCK"), null);
+        List<XTag.Matcher<Object>> compiled = XTag.compile(matchers, Arrays.asList(XMaterial.VALUES));
+        for (XMaterial material : XMaterial.VALUES) {
+            assertEquals(XTag.anyMatch(material, matchers), XTag.anyMatch(material, compiled), material::name);
+        }
+        assertTrue(XTag.anyMatch(XMaterial.TRAPPED_CHEST, compiled));
+        assertTrue(XTag.anyMatch(XMaterial.RED_WOOL, compiled));
+        assertTrue(XTag.anyMatch(XMaterial.TUBE_CORAL, compiled));
+        assertFalse(XTag.anyMatch(XMaterial.STONE, compiled));
+        // Outside the compiled domain
+        assertTrue(XTag.anyMatch(XSound.BLOCK_CHEST_OPEN, compiled));
     }
 
     private static void testXParticle() {
@@ -208,6 +381,7 @@ public final class XSeriesTests {
                     .rotate(90, 90, 90).withCount(-1).offset(5, 5, 5).withExtra(1).forceSpawn(true);
             commonRegistryTest(XParticle.REGISTRY, Arrays.asList(values(Particle.class)));
         }
+        ParticleEngineTests.test();
     }
 
     @SuppressWarnings("unchecked")
@@ -374,6 +548,21 @@ public final class XSeriesTests {
         // commonRegistryTest(XMaterial.REGISTRY, Arrays.asList(Material.values()));
         for (Material material : Material.values())
             if (!material.name().startsWith("LEGACY")) XMaterial.matchXMaterial(material);
+
+        ItemStack[] items = {new ItemStack(Material.STONE), null, XMaterial.RED_DYE.parseItem()};
+        XMaterial[] matched = XMaterial.matchAll(items, new XMaterial[items.length]);
+        assertArrayEquals(new XMaterial[]{XMaterial.STONE, null, XMaterial.RED_DYE}, matched);
+        assertArrayEquals(new XMaterial[]{XMaterial.STONE, null},
+                XMaterial.matchAll(new Material[]{Material.STONE, null}, new XMaterial[2]));
+
+        long[] stats = XMaterial.getParseItemStats();
+        ItemStack first = XMaterial.DIAMOND_SWORD.parseItem(), second = XMaterial.DIAMOND_SWORD.parseItem();
+        assertNotSame(first, second);
+        assertEquals(first, second);
+        first.setAmount(10);
+        assertEquals(1, XMaterial.DIAMOND_SWORD.parseItem().getAmount());
+        long[] newStats = XMaterial.getParseItemStats();
+        assertEquals(stats[0] + stats[1] + 3, newStats[0] + newStats[1]);
     }
 
     @SuppressWarnings("OptionalGetWithoutIsPresent")
@@ -24,7 +24,7 @@ package com.cryptomorin.xseries.test.benchmark;
 
 import com.cryptomorin.xseries.test.Constants;
 import com.cryptomorin.xseries.test.util.XLogger;
-import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.profile.GCProfiler;
 import org.openjdk.jmh.runner.Runner;
 import org.openjdk.jmh.runner.RunnerException;
 import org.openjdk.jmh.runner.options.Options;
@@ -44,15 +44,18 @@ public class BenchmarkMain extends Thread implements Thread.UncaughtExceptionHan
     @Override
     public void run() {
         // Note it appears that the configured settings here cannot be
-        // overridden by JMH annotations.
+        // overridden by JMH annotations, so the benchmark mode is set by each class.
         Options opt = new OptionsBuilder()
                 .include(RegistryBenchmark.class.getSimpleName())
+                // .include(XTagBenchmark.class.getSimpleName())
+                // .include(XMaterialBenchmark.class.getSimpleName())
+                // .include(ParticleProfileBenchmark.class.getSimpleName())
                 // .include(ReflectionBenchmarkSetup.class.getSimpleName())
                 // .include(ReflectionBenchmarkExecution.class.getSimpleName())
                 // .include(GameProfileBenchmark.class.getSimpleName())
                 // .forks(0) // Terrible, but we need the server state...
+                .addProfiler(GCProfiler.class) // Reports allocated bytes per operation (gc.alloc.rate.norm)
                 .shouldFailOnError(true)
-                .mode(Mode.AverageTime)
                 .build();
 
         try {
@@ -0,0 +1,80 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025 Crypto Morin
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+ * PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE
+ * FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.cryptomorin.xseries.test.benchmark;
+
+import com.cryptomorin.xseries.particles.ParticleDisplay;
+import com.cryptomorin.xseries.particles.ParticleProfile;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.MemoryConfiguration;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parsing the same particle config every time an event is triggered
+ * vs compiling it once to a {@link ParticleProfile}.
+ */
+@State(Scope.Benchmark)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@BenchmarkMode(Mode.AverageTime)
+@Warmup(iterations = 3)
+@Measurement(iterations = 3)
+@Fork(0)
+public class ParticleProfileBenchmark {
+    private ConfigurationSection config;
+    private ParticleProfile profile;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        MemoryConfiguration config = new MemoryConfiguration();
+        config.set("particle", "DUST");
+        config.set("count", 3);
+        config.set("offset", "0.1, 0.2, 0.1");
+        config.set("color", "255, 100, 20");
+        config.set("size", 1.2);
+        config.set("rotations.group-1.0.angle", 3.14);
+        config.set("rotations.group-1.0.vector", "Y");
+        config.set("rotations.group-1.1.angle", 4);
+        config.set("rotations.group-1.1.vector", "3, 5, 3.4");
+        config.set("rotations.group-2.0.angle", 1.6);
+        config.set("rotations.group-2.0.vector", "6, 4, 2");
+
+        this.config = config;
+        this.profile = ParticleProfile.compile(config);
+    }
+
+    @Benchmark
+    public ParticleDisplay ParticleDisplay_fromConfigPerTrigger() {
+        ParticleDisplay display = ParticleDisplay.fromConfig(config);
+        // The rotations are needed before spawning anything.
+        display.getRotation(false);
+        return display;
+    }
+
+    @Benchmark
+    public ParticleDisplay ParticleProfile_newDisplay() {
+        ParticleDisplay display = profile.newDisplay();
+        display.getRotation(false);
+        return display;
+    }
+}
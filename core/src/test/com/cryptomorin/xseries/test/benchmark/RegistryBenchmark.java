@@ -22,10 +22,12 @@
 
 package com.cryptomorin.xseries.test.benchmark;
 
+import com.cryptomorin.xseries.XEntityType;
 import com.cryptomorin.xseries.XMaterial;
 import com.cryptomorin.xseries.XSound;
 import org.bukkit.Material;
 import org.bukkit.Sound;
+import org.bukkit.entity.EntityType;
 import org.openjdk.jmh.annotations.*;
 
 import java.util.concurrent.TimeUnit;
@@ -35,9 +37,13 @@ import java.util.concurrent.TimeUnit;
  * SoundNames.XRegistry_matchString                avgt    3    57.905 ±   266.262  ns/op
  * XMaterial_matchBukkit                           avgt    3    16.383 ±     8.532  ns/op
  * XRegistry_matchBukkit                           avgt    3     6.464 ±     0.041  ns/op
+ * <p>
+ * {@link NormalizedNames} should report {@code gc.alloc.rate.norm ≈ 0 B/op} when
+ * running with the {@link org.openjdk.jmh.profile.GCProfiler} enabled in {@link BenchmarkMain}.
  */
 @State(Scope.Benchmark)
 @OutputTimeUnit(TimeUnit.NANOSECONDS)
+@BenchmarkMode(Mode.AverageTime)
 @Warmup(iterations = 3)
 @Measurement(iterations = 3)
 @Threads(3)
@@ -88,11 +94,55 @@ public class RegistryBenchmark {
         }
     }
 
+    /**
+     * Valid names that are not normalized, so they'd normally need
+     * to be formatted into a new string before being looked up.
+     */
+    @State(Scope.Benchmark)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    @Warmup(iterations = 3)
+    @Measurement(iterations = 3)
+    @Threads(3)
+    @Fork(0)
+    public static class NormalizedNames {
+        private String soundName;
+        private String materialName;
+
+        private static final String[] SOUND_VALUES =
+                {"AMBIENT_CAVE", "Block.Note_Block.Bell", "minecraft:block.anvil.hit", "MINECRAFT:ENTITY.PLAYER.LEVELUP"};
+        private static final String[] MATERIAL_VALUES =
+                {"ACACIA_BOAT", "Acacia Boat", "red-wool", "  diamond   sword "};
+
+        @Setup(Level.Iteration)
+        public void setupName() {
+            soundName = RandomUtil.random(SOUND_VALUES);
+            materialName = RandomUtil.random(MATERIAL_VALUES);
+        }
+
+        @Benchmark
+        public XSound XRegistry_matchNormalizedString() {
+            return XSound.of(soundName).orElse(null);
+        }
+
+        @Benchmark
+        public XMaterial XMaterial_matchNormalizedString() {
+            return XMaterial.matchXMaterial(materialName).orElse(null);
+        }
+    }
+
     @Benchmark
     public XSound XRegistry_matchBukkit() {
         return XSound.of(Sound.AMBIENT_CAVE);
     }
 
+    /**
+     * {@link EntityType} is still an enum, so this uses the ordinal-indexed mapping.
+     */
+    @Benchmark
+    public XEntityType XRegistry_matchBukkitEnum() {
+        return XEntityType.of(EntityType.ZOMBIE);
+    }
+
     @Benchmark
     public XMaterial XMaterial_matchBukkit() {
         return XMaterial.matchXMaterial(Material.AIR);
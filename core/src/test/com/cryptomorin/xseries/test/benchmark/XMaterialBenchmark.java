@@ -0,0 +1,112 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025 Crypto Morin
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+ * PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE
+ * FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.cryptomorin.xseries.test.benchmark;
+
+import com.cryptomorin.xseries.XMaterial;
+import org.bukkit.Material;
+import org.bukkit.inventory.ItemStack;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Matching a 10k item inventory one by one vs using the bulk methods,
+ * and building menu items with {@link XMaterial#parseItem()}.
+ */
+@State(Scope.Benchmark)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@BenchmarkMode(Mode.AverageTime)
+@Warmup(iterations = 3)
+@Measurement(iterations = 3)
+@Fork(0)
+public class XMaterialBenchmark {
+    private static final int INVENTORY_SIZE = 10_000;
+
+    private ItemStack[] items;
+    private Material[] materials;
+    private XMaterial[] out;
+
+    @Setup(Level.Trial)
+    public void setupInventory() {
+        List<Material> supported = new ArrayList<>();
+        for (XMaterial material : XMaterial.VALUES) {
+            Material bukkit = material.get();
+            if (bukkit != null && bukkit.isItem()) supported.add(bukkit);
+        }
+
+        Material[] choices = supported.toArray(new Material[0]);
+        items = new ItemStack[INVENTORY_SIZE];
+        materials = new Material[INVENTORY_SIZE];
+        for (int i = 0; i < INVENTORY_SIZE; i++) {
+            // Inventories usually have a lot of empty slots.
+            if (i % 4 == 0) continue;
+
+            Material material = RandomUtil.random(choices);
+            materials[i] = material;
+            items[i] = new ItemStack(material);
+        }
+        out = new XMaterial[INVENTORY_SIZE];
+    }
+
+    @Benchmark
+    public XMaterial[] XMaterial_matchItemsIndividually() {
+        for (int i = 0; i < items.length; i++) {
+            ItemStack item = items[i];
+            out[i] = item == null ? null : XMaterial.matchXMaterial(item);
+        }
+        return out;
+    }
+
+    @Benchmark
+    public XMaterial[] XMaterial_matchAllItems() {
+        return XMaterial.matchAll(items, out);
+    }
+
+    @Benchmark
+    public XMaterial[] XMaterial_matchMaterialsIndividually() {
+        for (int i = 0; i < materials.length; i++) {
+            Material material = materials[i];
+            out[i] = material == null ? null : XMaterial.matchXMaterial(material);
+        }
+        return out;
+    }
+
+    @Benchmark
+    public XMaterial[] XMaterial_matchAllMaterials() {
+        return XMaterial.matchAll(materials, out);
+    }
+
+    /**
+     * Filling a 54 slot menu.
+     */
+    @Benchmark
+    public ItemStack[] XMaterial_parseMenuItems() {
+        ItemStack[] menu = new ItemStack[54];
+        for (int i = 0; i < menu.length; i++) {
+            menu[i] = XMaterial.BLACK_STAINED_GLASS_PANE.parseItem();
+        }
+        return menu;
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025 Crypto Morin
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+ * PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE
+ * FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.cryptomorin.xseries.test.benchmark;
+
+import com.cryptomorin.xseries.XMaterial;
+import com.cryptomorin.xseries.XTag;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how long it takes to initialize {@link XTag} from a cold state.
+ * <p>
+ * Since a class can only be initialized once per class loader and the benchmarks
+ * must run with {@code @Fork(0)} to have access to the server, every invocation
+ * defines a fresh copy of {@link XTag} (and its nested classes) in an isolated
+ * class loader. Everything else, including {@link XMaterial}, is shared with the
+ * parent loader and is already initialized, so only the cost of the tags is measured.
+ */
+@State(Scope.Benchmark)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@BenchmarkMode(Mode.SingleShotTime)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(0)
+public class XTagBenchmark {
+    private static final String XTAG = XTag.class.getName();
+
+    @Setup(Level.Trial)
+    public void setup() {
+        // Make sure the shared classes are not part of the measurement.
+        XMaterial.matchXMaterial("STONE");
+    }
+
+    /**
+     * The cost of touching a single field, e.g. {@code XTag.AIR}
+     */
+    @Benchmark
+    public Object XTag_classInit() throws Exception {
+        return Class.forName(XTAG, true, new IsolatedLoader()).getField("AIR").get(null);
+    }
+
+    /**
+     * The cost of the first {@link XTag#getTag(String)} call on top of {@link #XTag_classInit()}
+     */
+    @Benchmark
+    public Object XTag_classInitWithNames() throws Exception {
+        return Class.forName(XTAG, true, new IsolatedLoader())
+                .getMethod("getTag", String.class)
+                .invoke(null, "INVENTORY_NOT_DISPLAYABLE");
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public Optional<XTag<?>> XTag_getTag() {
+        return XTag.getTag("INVENTORY_NOT_DISPLAYABLE");
+    }
+
+    /**
+     * Loads {@link XTag} and its nested classes by itself, and delegates everything else to the parent.
+     */
+    private static final class IsolatedLoader extends ClassLoader {
+        private IsolatedLoader() {
+            super(XTag.class.getClassLoader());
+        }
+
+        @Override
+        protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+            if (!name.equals(XTAG) && !name.startsWith(XTAG + '$')) return super.loadClass(name, resolve);
+
+            synchronized (getClassLoadingLock(name)) {
+                Class<?> clazz = findLoadedClass(name);
+                if (clazz == null) {
+                    byte[] bytes = readClass(name);
+                    clazz = defineClass(name, bytes, 0, bytes.length);
+                }
+                if (resolve) resolveClass(clazz);
+                return clazz;
+            }
+        }
+
+        private byte[] readClass(String name) throws ClassNotFoundException {
+            String path = name.replace('.', '/') + ".class";
+            try (InputStream in = getParent().getResourceAsStream(path)) {
+                if (in == null) throw new ClassNotFoundException(name);
+
+                ByteArrayOutputStream out = new ByteArrayOutputStream(16 * 1024);
+                byte[] buffer = new byte[8192];
+                int read;
+                while ((read = in.read(buffer)) != -1) out.write(buffer, 0, read);
+                return out.toByteArray();
+            } catch (IOException ex) {
+                throw new ClassNotFoundException(name, ex);
+            }
+        }
+    }
+}
@@ -72,6 +72,7 @@ import java.util.concurrent.TimeUnit;
 @SuppressWarnings({"unchecked", "FieldMayBeStatic"})
 @State(Scope.Benchmark)
 @OutputTimeUnit(TimeUnit.NANOSECONDS)
+@BenchmarkMode(Mode.AverageTime)
 @Warmup(iterations = 3)
 @Measurement(iterations = 5)
 @Threads(3)